@@ -0,0 +1,54 @@
+package com.proyecto.blog.benchmark;
+
+import com.proyecto.blog.utils.AuthorityCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityParsingBenchmark {
+
+    @Param({"5", "40"})
+    public int permissions;
+
+    private String authorities;
+
+    private AuthorityCatalog catalog;
+    private String compactAuthorities;
+
+    @Setup
+    public void setUp() {
+        authorities = BenchmarkFixtures.authorityString(permissions);
+        catalog = BenchmarkFixtures.authorityCatalog(permissions);
+        compactAuthorities = catalog.encode(AuthorityUtils.commaSeparatedStringToAuthorityList(authorities)).bits();
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> commaSeparatedStringToAuthorityList() {
+        return AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
+    }
+
+    // Claim compacto de un token ya visto: la lista decodificada se reutiliza
+    @Benchmark
+    public List<GrantedAuthority> decodeCompactClaim() {
+        return catalog.decode(compactAuthorities);
+    }
+}
@@ -0,0 +1,127 @@
+package com.proyecto.blog.benchmark;
+
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Permission;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.Role;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.utils.AuthorityCatalog;
+import com.proyecto.blog.utils.JwtKeyRing;
+import com.proyecto.blog.utils.JwtUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Datos de prueba compartidos por los benchmarks: tamaños parecidos a los de producción
+public final class BenchmarkFixtures {
+
+    public static final String JWT_KEY = "benchmark-private-key-0123456789";
+    public static final String JWT_ISSUER = "blog-benchmark";
+    // Alcanza para todas las authorities que generan los benchmarks
+    public static final int CATALOG_PERMISSIONS = 100;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtUtils jwtUtils() {
+        return jwtUtils(JwtKeyRing.RS256);
+    }
+
+    public static JwtUtils jwtUtils(String algorithm) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "privateKey", JWT_KEY);
+        ReflectionTestUtils.setField(jwtUtils, "userGenerator", JWT_ISSUER);
+        ReflectionTestUtils.setField(jwtUtils, "compactAuthorities", true);
+        AuthorityCatalog catalog = authorityCatalog(CATALOG_PERMISSIONS);
+        ReflectionTestUtils.setField(jwtUtils, "authorityCatalog", (LongFunction<AuthorityCatalog>) version -> catalog);
+        JwtKeyRing keys = jwtKeyRing(algorithm);
+        jwtUtils.setKeySource(() -> keys);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    // Una clave recién generada, como la que crea JwtSigningKeyService al arrancar
+    public static JwtKeyRing jwtKeyRing(String algorithm) {
+        return JwtKeyRing.of(JwtKeyRing.generate(algorithm, Instant.now()), JWT_ISSUER);
+    }
+
+    // Authorities como las que viajan en el token: roles + permisos
+    public static String authorityString(int permissions) {
+        String perms = IntStream.range(0, permissions)
+                .mapToObj(i -> "PERMISSION_" + i)
+                .collect(Collectors.joining(","));
+        return "ROLE_ADMIN,ROLE_AUTHOR," + perms;
+    }
+
+    // Catálogo con los roles y permisos de authorityString, con bits consecutivos como en authority_ordinals
+    public static AuthorityCatalog authorityCatalog(int permissions) {
+        Map<String, Integer> bits = new HashMap<>(Map.of("ROLE_ADMIN", 0, "ROLE_AUTHOR", 1));
+        List<String> permissionNames = new ArrayList<>();
+        for (int i = 0; i < permissions; i++) {
+            bits.put("PERMISSION_" + i, i + 2);
+            permissionNames.add("PERMISSION_" + i);
+        }
+        return new AuthorityCatalog(bits.size(), bits, List.of("ROLE_ADMIN", "ROLE_AUTHOR"), permissionNames);
+    }
+
+    public static Authentication authentication(String username, int permissions) {
+        return new UsernamePasswordAuthenticationToken(username, null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(authorityString(permissions)));
+    }
+
+    public static UserSec user(long id, int roles) {
+        UserSec user = new UserSec();
+        user.setId(id);
+        user.setUsername("user" + id + "@blog.com");
+        Set<Role> roleSet = new HashSet<>();
+        for (int r = 0; r < roles; r++) {
+            Set<Permission> permissions = new HashSet<>();
+            for (int p = 0; p < 5; p++) {
+                permissions.add(new Permission((long) (r * 10 + p), "PERMISSION_" + r + "_" + p, false));
+            }
+            roleSet.add(new Role((long) r, "ROLE" + r, false, permissions));
+        }
+        user.setRolesList(roleSet);
+        return user;
+    }
+
+    public static Author author(long id, int posts, int contentLength) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName("Author " + id);
+        author.setUser(user(id, 2));
+        author.getUser().setAuthor(author);
+
+        List<Post> postList = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            Post post = new Post();
+            post.setId(id * 1000 + i);
+            post.setTitle("Título del post " + i + " del autor " + id);
+            post.setContent(content(contentLength));
+            post.setAuthor(author);
+            postList.add(post);
+        }
+        author.setPosts(postList);
+        return author;
+    }
+
+    public static String content(int length) {
+        StringBuilder content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        }
+        return content.substring(0, length);
+    }
+}
@@ -0,0 +1,84 @@
+package com.proyecto.blog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.blog.dto.AuthorDTO;
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostSummaryDTO;
+import com.proyecto.blog.dto.UserSecResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización de las respuestas de listado, con el mismo ObjectMapper que arma Spring
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int items;
+
+    @Param({"2000"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+    private List<PostDTOandNameAuthor> posts;
+    private List<AuthorDTO> authors;
+    private List<UserSecResponseDTO> users;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String content = BenchmarkFixtures.content(contentLength);
+
+        posts = new ArrayList<>();
+        for (long i = 0; i < items; i++) {
+            posts.add(new PostDTOandNameAuthor(i, "Título del post " + i, content, "author" + (i % 50) + "@blog.com"));
+        }
+
+        authors = new ArrayList<>();
+        for (long i = 0; i < items / 10; i++) {
+            List<PostSummaryDTO> recentPosts = new ArrayList<>();
+            for (long p = 0; p < 5; p++) {
+                recentPosts.add(new PostSummaryDTO(i * 10 + p, "Título " + p));
+            }
+            authors.add(new AuthorDTO(i, "Author " + i, 10, recentPosts));
+        }
+
+        users = new ArrayList<>();
+        for (long i = 0; i < items; i++) {
+            users.add(UserSecResponseDTO.fromUserSec(BenchmarkFixtures.user(i, 2)));
+        }
+    }
+
+    @Benchmark
+    public byte[] postList() throws Exception {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public byte[] authorList() throws Exception {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    @Benchmark
+    public byte[] userList() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
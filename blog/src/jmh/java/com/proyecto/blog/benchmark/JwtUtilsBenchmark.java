@@ -0,0 +1,56 @@
+package com.proyecto.blog.benchmark;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.proyecto.blog.utils.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    // Cantidad de permisos en el token: usuario común vs admin
+    @Param({"5", "40"})
+    public int permissions;
+
+    // RS256 firma más lento y verifica mucho más rápido que ES256
+    @Param({"RS256", "ES256"})
+    public String algorithm;
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils(algorithm);
+        authentication = BenchmarkFixtures.authentication("admin@blog.com", permissions);
+        token = jwtUtils.createToken(authentication);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtUtils.createToken(authentication);
+    }
+
+    @Benchmark
+    public DecodedJWT validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+}
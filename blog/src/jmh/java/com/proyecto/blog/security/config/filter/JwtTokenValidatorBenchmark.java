@@ -0,0 +1,88 @@
+package com.proyecto.blog.security.config.filter;
+
+import com.proyecto.blog.benchmark.BenchmarkFixtures;
+import com.proyecto.blog.security.config.PublicPathRegistry;
+import com.proyecto.blog.utils.BloomFilter;
+import com.proyecto.blog.utils.JwtUtils;
+import com.proyecto.blog.utils.TokenRevocations;
+import com.proyecto.blog.utils.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Filtro completo con un token válido: con la cache de tokens (hit) y sin ella (verificación de firma).
+// Con revokedTokens > 0 el jti del token se consulta en un filtro de Bloom con esa cantidad de jti revocados
+// (no está entre ellos, como casi todos los requests); con 0 la consulta de revocación no hace nada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenValidatorBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    @Param({"5", "40"})
+    public int permissions;
+
+    @Param({"0", "10000"})
+    public int revokedTokens;
+
+    private JwtTokenValidator filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils();
+        // Con max-entries = 0 Caffeine descarta cada entrada apenas entra: cada request verifica el token
+        VerifiedTokenCache cache = new VerifiedTokenCache(cacheEnabled ? 10_000 : 0, new SimpleMeterRegistry());
+        TokenRevocations revocations = jti -> false;
+        if (revokedTokens > 0) {
+            BloomFilter revoked = BloomFilter.create(revokedTokens, 0.01);
+            for (int i = 0; i < revokedTokens; i++) {
+                revoked.add(UUID.randomUUID().toString());
+            }
+            revocations = revoked::mightContain;
+        }
+        filter = new JwtTokenValidator(jwtUtils, cache, new SimpleMeterRegistry(), PublicPathRegistry.of("/auth/login"), revocations);
+
+        String token = jwtUtils.createToken(BenchmarkFixtures.authentication("admin@blog.com", permissions));
+        request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setServletPath("/api/posts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+    }
+}
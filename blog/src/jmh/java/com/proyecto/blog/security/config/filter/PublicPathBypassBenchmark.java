@@ -0,0 +1,74 @@
+package com.proyecto.blog.security.config.filter;
+
+import com.proyecto.blog.benchmark.BenchmarkFixtures;
+import com.proyecto.blog.security.config.PublicPathRegistry;
+import com.proyecto.blog.security.config.SecurityConfig;
+import com.proyecto.blog.utils.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+// Atajo del filtro para rutas públicas (sin header Authorization). Correr con -prof gc para ver
+// que la decisión no crea objetos. legacyChain es la cadena de startsWith/equals que había antes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicPathBypassBenchmark {
+
+    // Una ruta del final de la lista vieja, una de un prefijo y una protegida que no se saltea
+    @Param({"/api/users/register", "/swagger-ui/index.html", "/api/posts/42"})
+    public String path;
+
+    private PublicPathRegistry publicPaths;
+    private JwtTokenValidator filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        publicPaths = new SecurityConfig(null, null, null).publicPaths();
+        filter = new JwtTokenValidator(BenchmarkFixtures.jwtUtils(),
+                new VerifiedTokenCache(0, new SimpleMeterRegistry()), new SimpleMeterRegistry(), publicPaths, jti -> false);
+        request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+    }
+
+    @Benchmark
+    public boolean registry() {
+        return publicPaths.matches(request);
+    }
+
+    @Benchmark
+    public boolean legacyChain() {
+        String servletPath = request.getServletPath();
+        return servletPath.startsWith("/v3/api-docs")
+                || servletPath.startsWith("/swagger-ui")
+                || servletPath.equals("/swagger-ui.html")
+                || servletPath.equals("/auth/login")
+                || servletPath.equals("/api/users/register");
+    }
+}
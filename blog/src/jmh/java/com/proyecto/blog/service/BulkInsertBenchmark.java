@@ -0,0 +1,128 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.BlogApplication;
+import com.proyecto.blog.benchmark.BenchmarkFixtures;
+import com.proyecto.blog.dto.PostImportResultDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+// Filas por segundo de la importación masiva de posts contra la base embebida.
+// identity: la estrategia anterior (IDENTITY, un INSERT por fila, Hibernate no puede agrupar).
+// pooled: secuencia con pool + hibernate.jdbc.batch_size=50.
+// Para medir contra MySQL: -Djmh.args="BulkInsert -jvmArgs -Dbenchmark.jdbc.url=jdbc:mysql://..."
+// (más -Dbenchmark.jdbc.user / -Dbenchmark.jdbc.password); ahí pesa cada viaje de red.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"identity", "pooled"})
+    public String idStrategy;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostSearchIndex searchIndex;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("blog.search.rebuild-on-startup=false",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=false");
+        // Como argumentos de línea de comandos, para que pisen application.properties y el perfil test
+        List<String> args = new ArrayList<>();
+        if ("identity".equals(idStrategy)) {
+            // Las migraciones crean los ids sin autoincremento: para IDENTITY el esquema lo genera Hibernate
+            args.add("--spring.jpa.mapping-resources=META-INF/identity-orm.xml");
+            args.add("--spring.flyway.enabled=false");
+            args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        }
+        String jdbcUrl = System.getProperty("benchmark.jdbc.url");
+        if (jdbcUrl != null) {
+            args.add("--spring.datasource.url=" + jdbcUrl);
+            args.add("--spring.datasource.username=" + System.getProperty("benchmark.jdbc.user", ""));
+            args.add("--spring.datasource.password=" + System.getProperty("benchmark.jdbc.password", ""));
+        }
+        context = builder.run(args.toArray(String[]::new));
+
+        postService = context.getBean(PostService.class);
+        searchIndex = context.getBean(PostSearchIndex.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        payload = payload(createAuthor());
+    }
+
+    // Tabla vacía en cada iteración para que todas midan lo mismo
+    @Setup(Level.Iteration)
+    public void clearPosts() {
+        jdbcTemplate.update("DELETE FROM posts");
+        searchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public PostImportResultDTO importPosts() {
+        return postService.importPosts(new ByteArrayInputStream(payload));
+    }
+
+    private Long createAuthor() {
+        UserSec user = new UserSec();
+        user.setUsername("bulk" + System.nanoTime() + "@blog.com");
+        user.setEnabled(true);
+        user = context.getBean(IUserSecRepository.class).save(user);
+
+        Author author = new Author();
+        author.setName("Bulk");
+        author.setUser(user);
+        return context.getBean(IAuthorRepository.class).save(author).getId();
+    }
+
+    private static byte[] payload(Long authorId) {
+        String content = BenchmarkFixtures.content(500);
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < ROWS; i++) {
+            array.add("{\"title\":\"Post masivo " + i + "\",\"content\":\"" + content + "\",\"authorId\":" + authorId + "}");
+        }
+        return array.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
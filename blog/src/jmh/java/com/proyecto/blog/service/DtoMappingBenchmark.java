@@ -0,0 +1,76 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.benchmark.BenchmarkFixtures;
+import com.proyecto.blog.dto.AuthorDTO;
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostSummaryDTO;
+import com.proyecto.blog.dto.UserSecResponseDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mapeo entidad -> DTO de PostService, AuthorService y UserSecResponseDTO (sin base de datos)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    // Posts por autor del fixture: el AuthorDTO solo resume los últimos, así que no debería pesar
+    @Param({"10", "200"})
+    public int postsPerAuthor;
+
+    private PostService postService;
+    private AuthorService authorService;
+    private Author author;
+    private List<PostSummaryDTO> recentPosts;
+    private Post post;
+    private UserSec user;
+
+    @Setup
+    public void setUp() {
+        postService = new PostService();
+        authorService = new AuthorService();
+        author = BenchmarkFixtures.author(1L, postsPerAuthor, 2000);
+        post = author.getPosts().get(0);
+        // Lo que en producción sale de la consulta de últimos posts por autor
+        recentPosts = author.getPosts().stream()
+                .limit(5)
+                .map(p -> new PostSummaryDTO(p.getId(), p.getTitle()))
+                .toList();
+        user = author.getUser();
+    }
+
+    @Benchmark
+    public PostDTOandNameAuthor postToDTO() {
+        return postService.toDTO(post);
+    }
+
+    @Benchmark
+    public AuthorDTO authorToDTO() {
+        return authorService.toDTO(author, author.getPosts().size(), recentPosts);
+    }
+
+    @Benchmark
+    public void userFromUserSec(Blackhole blackhole) {
+        UserSecResponseDTO dto = UserSecResponseDTO.fromUserSec(user);
+        blackhole.consume(dto);
+    }
+}
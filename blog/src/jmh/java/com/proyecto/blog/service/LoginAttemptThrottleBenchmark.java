@@ -0,0 +1,80 @@
+package com.proyecto.blog.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput del throttle de login con 1, 2, 4 y todos los hilos disponibles.
+// Sin lock global el throughput total debería crecer casi linealmente con los cores.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginAttemptThrottleBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    private LoginAttemptThrottle throttle;
+    private String[] usernames;
+    private String[] ips;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(KEYS);
+    }
+
+    @Setup
+    public void setUp() {
+        // Límites altos para medir solo el costo de contar, nunca el de rechazar
+        throttle = new LoginAttemptThrottle(4096, 6, 10_000, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                System::currentTimeMillis);
+        usernames = new String[KEYS];
+        ips = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            usernames[i] = "user" + i + "@blog.com";
+            ips[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+    }
+
+    private void attempt(Cursor cursor) {
+        int i = cursor.next++ & (KEYS - 1);
+        throttle.checkAttempt(usernames[i], ips[i]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneThread(Cursor cursor) {
+        attempt(cursor);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void twoThreads(Cursor cursor) {
+        attempt(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(Cursor cursor) {
+        attempt(cursor);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void allThreads(Cursor cursor) {
+        attempt(cursor);
+    }
+}
@@ -0,0 +1,124 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.BlogApplication;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Logins por segundo de POST /auth/login con la aplicación completa (Tomcat + H2) y 4 clientes concurrentes.
+// current: el camino de login actual.
+// legacy: vuelve a poner lo que se quitó del login para medir cuánto costaba: los println de
+// loadUserByUsername, el BCrypt extra contra un hash fijo (en el hilo del request) y
+// org.springframework.security en DEBUG.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+    // El hash que comparaba loadUserByUsername en cada login
+    private static final String LEGACY_HASH = "$2a$10$Dow1U3jE5IYiLxqrIBuEQuyNdKJeMVpE5Vf9BoGvJWDsmFY.gK/zu";
+
+    @Param({"current", "legacy"})
+    public String loginPath;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest login;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--blog.search.rebuild-on-startup=false",
+                "--blog.login.throttle.max-per-username=1000000000",
+                "--blog.login.throttle.max-per-ip=1000000000",
+                "--blog.login.hashing.queue-capacity=1024"));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BlogApplication.class).profiles("test");
+        if ("legacy".equals(loginPath)) {
+            args.add("--logging.level.org.springframework.security=DEBUG");
+            builder.initializers(context -> ((GenericApplicationContext) context)
+                    .registerBean("legacyLoginDiagnostics", FilterRegistrationBean.class, LoginThroughputBenchmark::legacyDiagnostics));
+        }
+        context = builder.run(args.toArray(String[]::new));
+
+        String username = "login-benchmark@blog.com";
+        UserSec user = new UserSec();
+        user.setUsername(username);
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setEnabled(true);
+        user.setAccountNotExpired(true);
+        user.setAccountNotLocked(true);
+        user.setCredentialNotExpired(true);
+        context.getBean(IUserSecRepository.class).save(user);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login falló con " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().length();
+    }
+
+    // Lo que hacía loadUserByUsername antes, en el mismo hilo del request
+    private static FilterRegistrationBean<Filter> legacyDiagnostics() {
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        Filter filter = (request, response, chain) -> {
+            System.out.println("Authorities: [ROLE_USER]");
+            System.out.println("Comparando contra el hash:");
+            System.out.println(encoder.matches("admin123", LEGACY_HASH));
+            chain.doFilter(request, response);
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/auth/login");
+        return registration;
+    }
+}
@@ -0,0 +1,115 @@
+package com.proyecto.blog.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Réplicas de lectura (blog.datasource.replica-urls, separadas por coma). El DataSource del
+// contexto pasa a ser un ReadWriteRoutingDataSource: Flyway y las escrituras siguen en el primario
+// (spring.datasource.*) y las transacciones readOnly se reparten entre las réplicas.
+// Cada réplica tiene su propio pool de Hikari, readOnly y con las mismas credenciales y
+// propiedades del driver que el primario salvo que se indiquen otras.
+@Configuration
+@ConditionalOnProperty("blog.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    // Con open-in-view Hibernate retiene la primera conexión durante todo el request y las
+    // transacciones siguientes la reutilizan sin importar si son readOnly; liberándola al terminar
+    // cada transacción, cada una se rutea por separado
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public MeterBinder replicaHealthMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ReadWriteRoutingDataSource routing)) {
+                return;
+            }
+            for (String name : routing.getReplicaNames()) {
+                Gauge.builder("blog.datasource.replica.up", routing, r -> r.isReplicaHealthy(name) ? 1 : 0)
+                        .description("1 si la réplica recibe lecturas, 0 si quedó fuera por el chequeo de salud")
+                        .tag("replica", name)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor {
+
+        private final Environment environment;
+
+        private RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof ReadWriteRoutingDataSource) {
+                return bean;
+            }
+            List<String> urls = List.of(environment.getProperty("blog.datasource.replica-urls", String[].class, new String[0]));
+            if (urls.isEmpty()) {
+                return bean;
+            }
+
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < urls.size(); i++) {
+                String name = "replica-" + (i + 1);
+                replicas.put(name, replicaPool(name, urls.get(i).trim()));
+            }
+            ReadYourWritesTracker tracker = new ReadYourWritesTracker(
+                    environment.getProperty("blog.datasource.read-your-writes-ms", Long.class, 5000L));
+            return new ReadWriteRoutingDataSource(primary, replicas, tracker,
+                    environment.getProperty("blog.datasource.replica-health-interval-ms", Long.class, 5000L));
+        }
+
+        private DataSource replicaPool(String name, String url) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url);
+            config.setUsername(environment.getProperty("blog.datasource.replica-username",
+                    environment.getProperty("spring.datasource.username")));
+            config.setPassword(environment.getProperty("blog.datasource.replica-password",
+                    environment.getProperty("spring.datasource.password")));
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(environment.getProperty("blog.datasource.replica-pool-size", Integer.class,
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10)));
+            // Una réplica caída no debe frenar la lectura: se pasa enseguida a la siguiente
+            config.setConnectionTimeout(environment.getProperty("blog.datasource.replica-connection-timeout-ms", Long.class, 1000L));
+            // Arranca aunque la réplica no responda; el chequeo de salud la habilita cuando vuelva
+            config.setInitializationFailTimeout(-1);
+
+            Properties driverProperties = new Properties();
+            driverProperties.putAll(Binder.get(environment)
+                    .bind("spring.datasource.hikari.data-source-properties", Bindable.mapOf(String.class, String.class))
+                    .orElse(Map.of()));
+            config.setDataSourceProperties(driverProperties);
+            return new HikariDataSource(config);
+        }
+    }
+}
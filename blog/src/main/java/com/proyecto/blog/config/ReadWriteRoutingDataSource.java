@@ -0,0 +1,177 @@
+package com.proyecto.blog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Primario para escrituras, réplicas para las transacciones readOnly.
+// La conexión física se pide recién en el primer statement (LazyConnectionDataSourceProxy): para
+// entonces la transacción ya está abierta y se sabe si es readOnly, así se elige a qué base ir.
+// Las réplicas se recorren en round-robin saltando las caídas; un chequeo periódico (isValid)
+// las vuelve a habilitar. Sin réplicas sanas, o si el usuario escribió hace poco
+// (ReadYourWritesTracker), la lectura va al primario.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // Segundos que espera Connection.isValid en el chequeo
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    // replicas: nombre -> DataSource, en el orden del round-robin
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReadYourWritesTracker tracker, long healthCheckIntervalMs) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.tracker = tracker;
+
+        setTargetDataSource(new RoutingDataSource());
+        afterPropertiesSet();
+
+        if (healthCheckIntervalMs > 0) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas,
+                    healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            healthChecker = null;
+        }
+    }
+
+    // Valida cada réplica y actualiza su estado; de paso limpia las ventanas de lectura vencidas
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Réplica {} {}", replica.name, healthy ? "disponible de nuevo" : "fuera de servicio");
+            }
+            replica.healthy = healthy;
+        }
+        tracker.purgeExpired();
+    }
+
+    public List<String> getReplicaNames() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    public boolean isReplicaHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.healthy);
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        // Al envolver el DataSource del contexto, el cierre de los pools queda a cargo nuestro
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("No se pudo cerrar el pool {}", dataSource, e);
+            }
+        }
+    }
+
+    // Decide la base en el momento de pedir la conexión física
+    private class RoutingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? readOnlyConnection()
+                    : writeTracked(primary.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        // Réplica sana siguiente o, en su defecto, el primario
+        private Connection readOnlyConnection() throws SQLException {
+            if (!replicas.isEmpty() && !tracker.isPinnedToPrimary()) {
+                int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+                for (int i = 0; i < replicas.size(); i++) {
+                    Replica replica = replicas.get((start + i) % replicas.size());
+                    if (!replica.healthy) {
+                        continue;
+                    }
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        // Queda fuera hasta que el chequeo periódico la vuelva a validar
+                        replica.healthy = false;
+                        log.warn("Réplica {} fuera de servicio: {}", replica.name, e.getMessage());
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+
+        // Registra la escritura del usuario actual cuando la transacción confirma en el primario
+        private Connection writeTracked(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result;
+                        try {
+                            result = method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                        if ("commit".equals(method.getName())) {
+                            tracker.recordWrite();
+                        }
+                        return result;
+                    });
+        }
+    }
+}
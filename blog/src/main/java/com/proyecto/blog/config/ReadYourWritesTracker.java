@@ -0,0 +1,67 @@
+package com.proyecto.blog.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Recuerda qué usuarios escribieron hace poco. Mientras dure la ventana sus lecturas van al
+// primario, así ven su propio cambio aunque las réplicas todavía no lo hayan aplicado.
+// El estado es de cada instancia: detrás de un balanceador sin afinidad la garantía es parcial.
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    // Usuario -> instante (System.nanoTime) hasta el que lee del primario
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    // Se llama al confirmar una transacción de escritura en el primario
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username != null && windowNanos > 0) {
+            pinnedUntil.put(username, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(username, until); // Ventana vencida
+        return false;
+    }
+
+    // Limpia las ventanas vencidas de usuarios que no volvieron a leer
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    public int size() {
+        return pinnedUntil.size();
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,71 @@
+package com.proyecto.blog.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Cuenta las sentencias SQL que Hibernate prepara durante cada request y las publica como
+// blog.http.sql.statements (tags method, uri con el patrón del endpoint). Se registra como
+// StatementInspector de Hibernate y como filtro, antes que la cadena de seguridad, para contar
+// también las consultas del login y de la carga de roles.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestStatementMetricsFilter extends OncePerRequestFilter
+        implements StatementInspector, HibernatePropertiesCustomizer {
+
+    // Contador del request en curso; vacío fuera de un request (arranque, tareas programadas)
+    private final ThreadLocal<int[]> statements = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = statements.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        int[] count = new int[1];
+        statements.set(count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("blog.http.sql.statements")
+                    .description("Sentencias SQL preparadas por request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(count[0]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.proyecto.blog.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+// Publica en Micrometer las estadísticas de cada región de la cache de segundo nivel
+// (cache.gets hit/miss, cache.puts, cache.evictions). Los contadores propios de Hibernate
+// (hibernate.second.level.cache.*, hibernate.cache.query.*) los registra Spring Boot
+// a partir de hibernate.generate_statistics.
+@Configuration
+public class SecondLevelCacheMetricsConfig {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (!(regionFactory instanceof JCacheRegionFactory jcacheRegionFactory)) {
+                return; // Cache de segundo nivel desactivada
+            }
+            CacheManager cacheManager = jcacheRegionFactory.getCacheManager();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.of("cacheManager", "hibernate"));
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.proyecto.blog.config;
+
+import com.proyecto.blog.service.IAuthorService;
+import com.proyecto.blog.service.IPostService;
+import com.proyecto.blog.service.IUserSecService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Timer blog.service por cada método público de IPostService, IAuthorService e IUserSecService
+// (tags service, method, outcome). Se agrega como primer advisor del proxy que ya tienen los
+// servicios, así el tiempo medido incluye la transacción.
+@Component
+public class ServiceMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    static final List<Class<?>> INSTRUMENTED_SERVICES = List.of(IPostService.class, IAuthorService.class, IUserSecService.class);
+
+    // El registry se resuelve en la primera llamada: un BeanPostProcessor no debe forzar su creación temprana
+    public ServiceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new ServiceMethodPointcut(), new TimingInterceptor(meterRegistry::getObject));
+        setBeforeExistingAdvisors(true);
+        // Proxy por subclase como el resto de Spring Boot: hay beans que inyectan la clase concreta
+        setProxyTargetClass(true);
+    }
+
+    // Solo los métodos declarados en las interfaces de servicio, no los auxiliares públicos de la clase
+    static class ServiceMethodPointcut extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> service : INSTRUMENTED_SERVICES) {
+                if (service.isAssignableFrom(targetClass)
+                        && ReflectionUtils.findMethod(service, method.getName(), method.getParameterTypes()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static class TimingInterceptor implements MethodInterceptor {
+
+        private final Supplier<MeterRegistry> meterRegistry;
+        // Timers ya registrados por método: evita armar tags y buscar en el registry en cada llamada
+        private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+        private final Map<Method, Timer> errorTimers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(Supplier<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            Method method = invocation.getMethod();
+            try {
+                Object result = invocation.proceed();
+                record(successTimers, method, "success", start);
+                return result;
+            } catch (Throwable e) {
+                record(errorTimers, method, "error", start);
+                throw e;
+            }
+        }
+
+        private void record(Map<Method, Timer> timers, Method method, String outcome, long start) {
+            long elapsed = System.nanoTime() - start;
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, key -> Timer.builder("blog.service")
+                        .description("Tiempo de los métodos de servicio")
+                        .tag("service", key.getDeclaringClass().getSimpleName())
+                        .tag("method", key.getName())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry.get()));
+            }
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+}
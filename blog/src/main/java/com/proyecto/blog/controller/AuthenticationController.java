@@ -2,16 +2,21 @@ package com.proyecto.blog.controller;
 
 import com.proyecto.blog.dto.AuthLoginRequestDTO;
 import com.proyecto.blog.dto.AuthResponseDTO;
+import com.proyecto.blog.dto.LogoutRequestDTO;
+import com.proyecto.blog.dto.RefreshTokenRequestDTO;
 import com.proyecto.blog.service.UserDetailsServiceImp;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-@Tag(name = "Autenticación", description = "Login y generación de tokens JWT para acceder al sistema")
+@Tag(name = "Autenticación", description = "Login, renovación, logout y generación de tokens JWT para acceder al sistema")
 @RestController
 @RequestMapping("/auth")
 public class AuthenticationController {
@@ -26,8 +31,33 @@ public class AuthenticationController {
 
     //Todas estas requests y responses vamos a tratarlas como dto
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login (@RequestBody @Valid AuthLoginRequestDTO userRequest) {
-        return new ResponseEntity<>(this.userDetailsService.loginUser(userRequest), HttpStatus.OK);
+    public ResponseEntity<AuthResponseDTO> login (@RequestBody @Valid AuthLoginRequestDTO userRequest,
+                                                  HttpServletRequest request) {
+        return new ResponseEntity<>(this.userDetailsService.loginUser(userRequest, request.getRemoteAddr()), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Renovar la sesión",
+            description = "Canjea el refresh token por un JWT nuevo y otro refresh token. Cada refresh token sirve una sola vez; "
+                    + "si se reutiliza se cierran todas las sesiones del usuario"
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@RequestBody @Valid RefreshTokenRequestDTO refreshRequest) {
+        return new ResponseEntity<>(this.userDetailsService.refreshSession(refreshRequest.refreshToken()), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revoca el JWT con el que se llama hasta que vence y, si se envía, también el refresh token",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) @Valid LogoutRequestDTO logoutRequest) {
+        // El filtro JWT ya validó el header: la ruta no es pública
+        this.userDetailsService.logoutUser(authorization.substring("Bearer ".length()),
+                logoutRequest != null ? logoutRequest.refreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 
 }
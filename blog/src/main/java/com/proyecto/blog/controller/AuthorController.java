@@ -2,8 +2,11 @@ package com.proyecto.blog.controller;
 
 
 import com.proyecto.blog.dto.AuthorDTO;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
 import com.proyecto.blog.service.IAuthorService;
+import com.proyecto.blog.service.IPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,9 +16,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.Optional;
 
 @Tag(name = "Author", description = "Operaciones para la gestión de autores del sistema")
 @RestController
@@ -25,28 +29,49 @@ public class AuthorController {
     @Autowired
     private IAuthorService authorService;
 
+    @Autowired
+    private IPostService postService;
+
     @Operation(
             summary = "Obtener todos los autores",
-            description = "Devuelve la lista de todos los autores del sistema. Accesible por ADMIN, USER y AUTHOR",
+            description = "Devuelve la lista de todos los autores del sistema. Accesible por ADMIN, USER y AUTHOR. Soporta If-None-Match / If-Modified-Since (304)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
     @GetMapping
-    public ResponseEntity<List<AuthorDTO>> getAllAuthors() {
-        List<AuthorDTO> authors = authorService.getAllAuthors();
-        return ResponseEntity.ok(authors);
+    public ResponseEntity<List<AuthorDTO>> getAllAuthors(WebRequest request) {
+        return ConditionalResponses.conditional(request, authorService.getAuthorsVersion(), "authors",
+                authorService::getAllAuthors);
     }
 
     @Operation(
             summary = "Obtener autor por ID",
-            description = "Devuelve un autor específico según su ID. Accesible por ADMIN, USER y AUTHOR",
+            description = "Devuelve un autor específico según su ID. Accesible por ADMIN, USER y AUTHOR. Soporta If-None-Match / If-Modified-Since (304)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long id) {
-        Optional<AuthorDTO> author = authorService.getAuthorById(id);
-        return author.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long id, WebRequest request) {
+        VersionStampDTO version = authorService.getAuthorVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Si se borra entre el validador y la lectura, respondemos 404
+        return ConditionalResponses.conditional(request, version, "author-" + id, () -> authorService.getAuthorById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Author not found")));
+    }
+
+    @Operation(
+            summary = "Obtener los posts de un autor",
+            description = "Posts de un autor del más nuevo al más viejo, paginados con un cursor opaco. Accesible por ADMIN, USER y AUTHOR",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<PostFeedDTO> getAuthorPosts(@PathVariable Long id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.getAuthorPostFeed(id, cursor, size));
     }
 
     @Operation(
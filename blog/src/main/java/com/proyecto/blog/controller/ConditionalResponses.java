@@ -0,0 +1,32 @@
+package com.proyecto.blog.controller;
+
+import com.proyecto.blog.dto.VersionStampDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// GET condicional a partir de un VersionStampDTO: si el cliente ya tiene la versión actual
+// devuelve 304 sin ejecutar el loader (no se lee ni se serializa el contenido).
+final class ConditionalResponses {
+
+    // private: la respuesta depende del usuario autenticado; no-cache: revalidar siempre con el ETag.
+    // Al fijarlo acá, Spring Security no lo pisa con su "no-store" por defecto.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> conditional(WebRequest request, VersionStampDTO stamp, String etagPrefix,
+                                             Supplier<T> loader) {
+        // checkNotModified agrega ETag y Last-Modified a la respuesta en ambos casos
+        if (request.checkNotModified(stamp.toETag(etagPrefix), stamp.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        // El cuerpo se lee después del validador: si cambia en el medio, el cliente recibe datos
+        // más nuevos que su ETag y en la próxima petición simplemente vuelve a descargar
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(loader.get());
+    }
+}
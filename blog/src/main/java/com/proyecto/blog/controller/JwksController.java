@@ -0,0 +1,37 @@
+package com.proyecto.blog.controller;
+
+import com.proyecto.blog.service.JwtSigningKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Tag(name = "Autenticación", description = "Login y generación de tokens JWT para acceder al sistema")
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtSigningKeyService signingKeyService;
+
+    @Value("${security.jwt.keys.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    @Operation(
+            summary = "Claves públicas de los JWT",
+            description = "JWK Set (RFC 7517) con las claves de firma vigentes; el kid del header del token indica cuál usar"
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        // Se puede cachear lo mismo que tarda una instancia en ver una clave nueva
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMillis(refreshIntervalMs)).cachePublic())
+                .body(Map.of("keys", signingKeyService.current().jwks()));
+    }
+}
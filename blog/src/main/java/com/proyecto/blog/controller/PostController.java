@@ -2,6 +2,10 @@ package com.proyecto.blog.controller;
 
 import com.proyecto.blog.dto.AuthorDTO;
 import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.dto.PostImportResultDTO;
+import com.proyecto.blog.dto.PostSearchPageDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
 import com.proyecto.blog.model.Post;
 import com.proyecto.blog.service.IAuthorService;
@@ -9,16 +13,22 @@ import com.proyecto.blog.service.IPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 
@@ -35,27 +45,71 @@ public class PostController {
 
     @Operation(
             summary = "Obtener todos los posts",
-            description = "Accesible por ADMIN, USER o AUTHOR",
+            description = "Accesible por ADMIN, USER o AUTHOR. Soporta If-None-Match / If-Modified-Since (304)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
     @GetMapping
-    public ResponseEntity<List<PostDTOandNameAuthor>> getAllPosts() {
-        List<PostDTOandNameAuthor> posts = postService.getAllPosts();
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<List<PostDTOandNameAuthor>> getAllPosts(WebRequest request) {
+        return ConditionalResponses.conditional(request, postService.getPostsVersion(), "posts",
+                postService::getAllPosts);
+    }
+
+    @Operation(
+            summary = "Obtener el feed de posts paginado",
+            description = "Devuelve los posts del más nuevo al más viejo usando un cursor opaco. Accesible por ADMIN, USER o AUTHOR",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
+    @GetMapping("/feed")
+    public ResponseEntity<PostFeedDTO> getPostFeed(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(postService.getPostFeed(cursor, size));
+    }
+
+    @Operation(
+            summary = "Exportar todos los posts",
+            description = "Devuelve los posts en NDJSON (un objeto JSON por línea, ordenados por id) a medida que se leen de la base. "
+                    + "Para retomar una exportación cortada, enviar afterId con el último id recibido. Accesible por ADMIN, USER o AUTHOR",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportPosts(@RequestParam(required = false) Long afterId, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        // Escribimos directo en la respuesta: nada de armar la lista completa en memoria
+        postService.exportPosts(afterId, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Buscar posts",
+            description = "Búsqueda de texto completo sobre título y contenido, ordenada por relevancia. Accesible por ADMIN, USER o AUTHOR",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchPageDTO> searchPosts(@RequestParam("q") String query,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.searchPosts(query, page, size));
     }
 
     @Operation(
             summary = "Obtener un post por ID",
-            description = "Devuelve un post según su ID. Accesible por ADMIN, USER o AUTHOR",
+            description = "Devuelve un post según su ID. Accesible por ADMIN, USER o AUTHOR. Soporta If-None-Match / If-Modified-Since (304)",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'USER', 'AUTHOR')")
     @GetMapping("/{id}")
-    public ResponseEntity<PostDTOandNameAuthor> getPostById(@PathVariable Long id) {
-        Optional<PostDTOandNameAuthor> post = postService.getPostById(id);
-        return post.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<PostDTOandNameAuthor> getPostById(@PathVariable Long id, WebRequest request) {
+        VersionStampDTO version = postService.getPostVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Si se borra entre el validador y la lectura, respondemos 404
+        return ConditionalResponses.conditional(request, version, "post-" + id, () -> postService.getPostById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found")));
     }
 
     @Operation(
@@ -70,6 +124,18 @@ public class PostController {
         return ResponseEntity.ok(newPostDTO);
     }
 
+    @Operation(
+            summary = "Importar posts en bloque",
+            description = "Recibe un arreglo JSON de {title, content, authorId} y lo guarda en batches sin cargarlo entero en memoria. Solo ADMIN",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PostImportResultDTO> importPosts(HttpServletRequest request) throws IOException {
+        // Leemos el cuerpo como stream en lugar de @RequestBody para no materializar la lista
+        return ResponseEntity.ok(postService.importPosts(request.getInputStream()));
+    }
+
     @Operation(
             summary = "Actualizar un post",
             description = "Permite a un AUTHOR o ADMIN actualizar un post existente",
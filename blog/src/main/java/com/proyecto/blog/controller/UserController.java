@@ -138,6 +138,18 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+            summary = "Cerrar las sesiones de un usuario",
+            description = "Revoca todos los refresh tokens del usuario (solo ADMIN). Los JWT ya emitidos siguen valiendo hasta que vencen",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}/sessions")
+    public ResponseEntity<Void> revokeSessions(@PathVariable Long id) {
+        userService.revokeSessions(id);
+        return ResponseEntity.noContent().build();
+    }
+
     // Método de utilidad (no se expone en Swagger)
     public static UserSecResponseDTO fromUserSec(UserSec user) {
         return new UserSecResponseDTO(
@@ -2,9 +2,10 @@ package com.proyecto.blog.dto;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
-@JsonPropertyOrder({"username", "message", "jwt", "status"})
+@JsonPropertyOrder({"username", "message", "jwt", "refreshToken", "status"})
 public record AuthResponseDTO(String username,
                               String message,
                               String jwt,
+                              String refreshToken,
                               boolean status) {
 }
@@ -15,5 +15,6 @@ public class AuthorDTO {
 
     private Long id;
     private String authorName;
-    private List<PostDTO> posts;
+    private long postCount; // Posts no eliminados (sale de un COUNT, no de cargar la colección)
+    private List<PostSummaryDTO> recentPosts; // Los últimos N; el resto en GET /api/authors/{id}/posts
 }
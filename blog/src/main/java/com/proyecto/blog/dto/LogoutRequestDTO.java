@@ -0,0 +1,7 @@
+package com.proyecto.blog.dto;
+
+import jakarta.validation.constraints.Size;
+
+// El refresh token es opcional: sin él solo se revoca el JWT con el que se llama
+public record LogoutRequestDTO(@Size(max = 64) String refreshToken) {
+}
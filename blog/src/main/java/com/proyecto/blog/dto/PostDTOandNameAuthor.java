@@ -11,6 +11,7 @@ import lombok.Setter;
 @Setter
 public class PostDTOandNameAuthor {
 
+    private Long id;
     private String title;
     private String content;
     private String authorName;
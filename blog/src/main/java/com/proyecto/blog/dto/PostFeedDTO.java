@@ -0,0 +1,21 @@
+package com.proyecto.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostFeedDTO {
+
+    private List<PostDTOandNameAuthor> posts;
+    @JsonInclude(JsonInclude.Include.NON_NULL)  // No aparece en la última página
+    private String nextCursor; // Cursor opaco para pedir la página siguiente
+    private long totalHint; // Total aproximado de posts (no se recalcula en cada página)
+}
@@ -0,0 +1,18 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Un elemento del arreglo JSON de POST /api/posts/import
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostImportDTO {
+
+    private String title;
+    private String content;
+    private Long authorId;
+}
@@ -0,0 +1,16 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostImportResultDTO {
+
+    private long imported; // Posts guardados
+    private int batches; // Transacciones usadas (una por batch de JDBC)
+}
@@ -0,0 +1,20 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSearchPageDTO {
+
+    private List<PostSearchResultDTO> results;
+    private int page;
+    private int size;
+    private long totalHits; // Posts que contienen al menos un término de la consulta
+}
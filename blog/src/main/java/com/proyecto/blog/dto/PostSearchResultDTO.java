@@ -0,0 +1,18 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSearchResultDTO {
+
+    private Long id;
+    private String title;
+    private String authorName;
+    private double score; // Relevancia BM25 del post para la consulta
+}
@@ -0,0 +1,17 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Post sin contenido, para listados (por ejemplo, los últimos posts de un autor)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSummaryDTO {
+
+    private Long id;
+    private String title;
+}
@@ -0,0 +1,7 @@
+package com.proyecto.blog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RefreshTokenRequestDTO(@NotBlank @Size(max = 64) String refreshToken) {
+}
@@ -0,0 +1,11 @@
+package com.proyecto.blog.dto;
+
+// Datos mínimos del usuario para autenticar, sin cargar roles ni permisos
+public record UserCredentialsDTO(Long id,
+                                 String username,
+                                 String password,
+                                 boolean enabled,
+                                 boolean accountNotExpired,
+                                 boolean credentialNotExpired,
+                                 boolean accountNotLocked) {
+}
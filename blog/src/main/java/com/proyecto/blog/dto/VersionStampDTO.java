@@ -0,0 +1,52 @@
+package com.proyecto.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Resumen de las columnas version/updated_at de un conjunto de filas, usado como validador
+// de GET condicionales. Cualquier alta, edición o baja lógica cambia al menos uno de los tres
+// valores, así que el ETag cambia sin tener que leer ni serializar el contenido.
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class VersionStampDTO {
+
+    private Long rows;
+    private Long versionSum;
+    private Instant lastModified;
+
+    public boolean isEmpty() {
+        return rows == null || rows == 0;
+    }
+
+    // Combina dos resúmenes (por ejemplo, el autor y sus posts) en uno solo
+    public VersionStampDTO combine(VersionStampDTO other) {
+        Instant latest = lastModified;
+        if (latest == null || (other.lastModified != null && other.lastModified.isAfter(latest))) {
+            latest = other.lastModified;
+        }
+        return new VersionStampDTO(orZero(rows) + orZero(other.rows),
+                orZero(versionSum) + orZero(other.versionSum), latest);
+    }
+
+    public String toETag(String prefix) {
+        long lastModifiedMicros = lastModified == null ? 0
+                : lastModified.getEpochSecond() * 1_000_000 + lastModified.getNano() / 1_000;
+        return "\"" + prefix + "-" + orZero(rows) + "-" + orZero(versionSum) + "-"
+                + Long.toHexString(lastModifiedMicros) + "\"";
+    }
+
+    // Milisegundos para Last-Modified; -1 le indica a Spring que no hay fecha
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.proyecto.blog.excepcion;
+
+public class LoginOverloadedException extends RuntimeException{
+
+    private final long retryAfterSeconds; // Segundos sugeridos al cliente antes de reintentar
+
+    public LoginOverloadedException(String message, long retryAfterSeconds) {
+        super(message); // Pasamos el mensaje al constructor de RuntimeException
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
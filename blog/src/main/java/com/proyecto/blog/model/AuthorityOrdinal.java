@@ -0,0 +1,24 @@
+package com.proyecto.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Bit fijo de cada authority (ROLE_x o permiso) en el claim compacto del JWT. Las filas solo se
+// agregan: un nombre conserva su bit para siempre y un bit nunca pasa a otro nombre
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "authority_ordinals")
+public class AuthorityOrdinal {
+
+    @Id
+    private String authority;
+
+    @Column(nullable = false, unique = true)
+    private int bitIndex;
+}
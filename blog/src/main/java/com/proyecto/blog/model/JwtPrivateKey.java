@@ -0,0 +1,25 @@
+package com.proyecto.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Clave privada (PKCS#8 en base64) de una JwtSigningKey. Va en su propia tabla: los nodos que solo
+// verifican nunca la leen, así que pueden correr con un usuario de base sin permisos sobre ella
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "jwt_private_keys")
+public class JwtPrivateKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 2048)
+    private String privateKey;
+}
@@ -0,0 +1,33 @@
+package com.proyecto.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Clave pública (X.509 en base64) de una clave de firma de los JWT: es todo lo que leen los nodos que
+// solo verifican. La privada va aparte, en JwtPrivateKey
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(nullable = false, length = 1024)
+    private String publicKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -1,11 +1,15 @@
 package com.proyecto.blog.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Setter
@@ -16,7 +20,10 @@ import lombok.Setter;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con pool: Hibernate reserva 50 ids por viaje y puede agrupar los INSERT en batch
+    // (en MySQL se emula con la tabla posts_seq)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -29,6 +36,17 @@ public class Post {
     @Column(nullable = false)
     private boolean deleted = false;
 
+    // Validadores para GET condicionales (ETag / Last-Modified); los maneja Hibernate, no el cliente
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     @ManyToOne
     @JoinColumn(name = "author_id", nullable = false)
     @JsonBackReference  // Evita la serialización infinita
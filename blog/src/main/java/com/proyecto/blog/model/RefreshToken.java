@@ -0,0 +1,58 @@
+package com.proyecto.blog.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// Refresh token emitido. Se guarda el SHA-256 del token, nunca el token: con una copia de la base no se
+// puede renovar una sesión. used queda en true cuando el token se canjeó por otro
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "refresh_tokens")
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 43)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    // El id lo asigna la app: sin esto save() haría un SELECT antes de cada INSERT para ver si ya existe
+    @Transient
+    private boolean persisted;
+
+    public RefreshToken(String tokenHash, Long userId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.proyecto.blog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// JWT revocado (logout). Se guarda solo el jti y el vencimiento del token: pasado ese momento la fila sobra
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,7 +1,13 @@
 package com.proyecto.blog.repository;
 
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,9 +17,19 @@ import java.util.Optional;
 public interface IAuthorRepository extends JpaRepository<Author, Long> {
 
     // Método para encontrar autores que no han sido eliminados
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Author> findByDeletedFalse();
 
     // Método para buscar un autor por ID si no ha sido eliminado
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Author> findByIdAndDeletedFalse(Long id);
 
+    // Validadores para GET condicionales sobre autores (solo columnas version/updated_at)
+    @Query("SELECT new com.proyecto.blog.dto.VersionStampDTO(count(a), sum(a.version), max(a.updatedAt)) "
+            + "FROM Author a WHERE a.id = :id AND a.deleted = false")
+    VersionStampDTO findVersionStampById(@Param("id") Long id);
+
+    @Query("SELECT new com.proyecto.blog.dto.VersionStampDTO(count(a), sum(a.version), max(a.updatedAt)) FROM Author a")
+    VersionStampDTO findVersionStamp();
+
 }
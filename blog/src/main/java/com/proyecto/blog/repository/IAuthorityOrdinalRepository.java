@@ -0,0 +1,18 @@
+package com.proyecto.blog.repository;
+
+import com.proyecto.blog.model.AuthorityOrdinal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IAuthorityOrdinalRepository extends JpaRepository<AuthorityOrdinal, String> {
+
+    // INSERT directo y no save: save haría merge y podría pisar el bit que otra instancia acaba de asignar.
+    // Si el nombre o el bit ya existen, la clave única lo rechaza
+    @Modifying
+    @Query(value = "INSERT INTO authority_ordinals (authority, bit_index) VALUES (:authority, :bitIndex)", nativeQuery = true)
+    int insert(@Param("authority") String authority, @Param("bitIndex") int bitIndex);
+}
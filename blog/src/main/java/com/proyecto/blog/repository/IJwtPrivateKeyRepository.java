@@ -0,0 +1,10 @@
+package com.proyecto.blog.repository;
+
+import com.proyecto.blog.model.JwtPrivateKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Solo la usan las instancias que firman; las filas se borran junto con su JwtSigningKey (on delete cascade)
+@Repository
+public interface IJwtPrivateKeyRepository extends JpaRepository<JwtPrivateKey, String> {
+}
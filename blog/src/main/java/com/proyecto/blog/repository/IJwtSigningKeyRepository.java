@@ -0,0 +1,19 @@
+package com.proyecto.blog.repository;
+
+import com.proyecto.blog.model.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface IJwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    // Claves vigentes, de la más nueva a la más vieja; la primera es la que firma
+    List<JwtSigningKey> findByCreatedAtAfterOrderByCreatedAtDesc(Instant after);
+
+    @Transactional
+    long deleteByCreatedAtBefore(Instant before);
+}
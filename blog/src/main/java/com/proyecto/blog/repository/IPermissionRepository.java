@@ -1,7 +1,10 @@
 package com.proyecto.blog.repository;
 
 import com.proyecto.blog.model.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +13,9 @@ import java.util.Optional;
 @Repository
 public interface IPermissionRepository extends JpaRepository<Permission, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Permission> findByDeletedFalse();  // Método para obtener permissions no eliminados
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Permission> findByIdAndDeletedFalse(Long id);  // Método para obtener un post por ID no eliminado
 }
@@ -1,16 +1,93 @@
 package com.proyecto.blog.repository;
 
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IPostRepository extends JpaRepository<Post, Long> {
 
+    // Proyección de lectura: título, contenido y username del autor en un único SELECT con join
+    String POST_VIEW = "SELECT new com.proyecto.blog.dto.PostDTOandNameAuthor(p.id, p.title, p.content, u.username) "
+            + "FROM Post p JOIN p.author a JOIN a.user u ";
+
+    // Validadores para GET condicionales: solo leen id/version/updated_at, nunca el contenido
+    String VERSION_STAMP = "SELECT new com.proyecto.blog.dto.VersionStampDTO(count(p), sum(p.version), max(p.updatedAt)) "
+            + "FROM Post p ";
+
     List<Post> findByDeletedFalse();  // Método para obtener posts no eliminados
 
     Optional<Post> findByIdAndDeletedFalse(Long id);  // Método para obtener un post por ID no eliminado
+
+    @Query(POST_VIEW + "WHERE p.deleted = false ORDER BY p.id")
+    List<PostDTOandNameAuthor> findPostViews();  // Todos los posts no eliminados como DTO
+
+    @Query(POST_VIEW + "WHERE p.id = :id AND p.deleted = false")
+    Optional<PostDTOandNameAuthor> findPostViewById(@Param("id") Long id);  // Un post no eliminado como DTO
+
+    // Primera página del feed: los posts más recientes (keyset sobre id)
+    @Query(POST_VIEW + "WHERE p.deleted = false ORDER BY p.id DESC")
+    List<PostDTOandNameAuthor> findPostViewFeed(Limit limit);
+
+    // Páginas siguientes del feed: posts con id menor al último devuelto
+    @Query(POST_VIEW + "WHERE p.deleted = false AND p.id < :cursor ORDER BY p.id DESC")
+    List<PostDTOandNameAuthor> findPostViewFeedBefore(@Param("cursor") Long cursor, Limit limit);
+
+    // Feed de un autor (mismo keyset que el feed general)
+    @Query(POST_VIEW + "WHERE a.id = :authorId AND p.deleted = false ORDER BY p.id DESC")
+    List<PostDTOandNameAuthor> findPostViewFeedByAuthor(@Param("authorId") Long authorId, Limit limit);
+
+    @Query(POST_VIEW + "WHERE a.id = :authorId AND p.deleted = false AND p.id < :cursor ORDER BY p.id DESC")
+    List<PostDTOandNameAuthor> findPostViewFeedByAuthorBefore(@Param("authorId") Long authorId,
+                                                              @Param("cursor") Long cursor, Limit limit);
+
+    long countByAuthorIdAndDeletedFalse(Long authorId);
+
+    // Cantidad de posts no eliminados por autor: filas [authorId, count]
+    @Query("SELECT p.author.id, count(p) FROM Post p WHERE p.deleted = false AND p.author.id IN :authorIds "
+            + "GROUP BY p.author.id")
+    List<Object[]> countPostsByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+
+    // Los últimos :limit posts (sin contenido) de cada autor: filas [author_id, id, title]
+    @Query(value = "SELECT author_id, id, title FROM ("
+            + "SELECT p.author_id, p.id, p.title, "
+            + "ROW_NUMBER() OVER (PARTITION BY p.author_id ORDER BY p.id DESC) AS rn "
+            + "FROM posts p WHERE p.deleted = false AND p.author_id IN (:authorIds)) recent "
+            + "WHERE rn <= :limit ORDER BY author_id, id DESC", nativeQuery = true)
+    List<Object[]> findRecentPostsByAuthorIds(@Param("authorIds") Collection<Long> authorIds, @Param("limit") int limit);
+
+    // Exportación: cursor de solo avance sobre la proyección (sin entidades en el contexto de persistencia).
+    // El fetch size hace que el driver traiga las filas de a bloques en lugar de todo el resultado
+    // (en MySQL requiere useCursorFetch=true). Debe consumirse dentro de una transacción y cerrarse.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(POST_VIEW + "WHERE p.deleted = false AND p.id > :afterId ORDER BY p.id")
+    Stream<PostDTOandNameAuthor> streamPostViewsAfter(@Param("afterId") Long afterId);
+
+    @Query(VERSION_STAMP + "WHERE p.id = :id AND p.deleted = false")
+    VersionStampDTO findVersionStampById(@Param("id") Long id);
+
+    // Incluye las filas borradas: una baja lógica sube la versión y así invalida el ETag
+    @Query(VERSION_STAMP)
+    VersionStampDTO findVersionStamp();
+
+    @Query(VERSION_STAMP + "WHERE p.author.id = :authorId")
+    VersionStampDTO findVersionStampByAuthorId(@Param("authorId") Long authorId);
+
+    long countByDeletedFalse();  // Total de posts no eliminados (solo para refrescar el hint del feed)
 }
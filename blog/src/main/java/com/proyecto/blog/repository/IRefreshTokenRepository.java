@@ -0,0 +1,32 @@
+package com.proyecto.blog.repository;
+
+import com.proyecto.blog.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IRefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Canje del token: devuelve 0 si ya se había usado (o no existe), también entre instancias
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.used = true WHERE t.tokenHash = :tokenHash AND t.used = false")
+    int markUsed(@Param("tokenHash") String tokenHash);
+
+    // Revocación de todas las sesiones de un usuario
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,25 @@
+package com.proyecto.blog.repository;
+
+import com.proyecto.blog.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface IRevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // jti que todavía pueden llegar en un token vigente, para armar el filtro de Bloom
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findJtisExpiringAfter(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,8 +1,11 @@
 package com.proyecto.blog.repository;
 
 import com.proyecto.blog.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,12 +15,16 @@ import java.util.Optional;
 @Repository
 public interface IRoleRepository extends JpaRepository<Role, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Role> findByDeletedFalse();  // Método para obtener roles no eliminados
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByIdAndDeletedFalse(Long id);  // Método para obtener un role por ID no eliminado
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByRole(String roleName);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.role = :role")
     Optional<Role> findByRoleName(@Param("role") String role);
 
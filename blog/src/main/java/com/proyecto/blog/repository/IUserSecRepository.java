@@ -1,8 +1,11 @@
 package com.proyecto.blog.repository;
 
+import com.proyecto.blog.dto.UserCredentialsDTO;
 import com.proyecto.blog.model.Role;
 import com.proyecto.blog.model.UserSec;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,5 +22,21 @@ public interface IUserSecRepository extends JpaRepository<UserSec, Long> {
 
     Optional<UserSec> findByUsername(String username);
 
+    // Credenciales para el login sin disparar la carga EAGER de roles y permisos
+    @Query("SELECT new com.proyecto.blog.dto.UserCredentialsDTO(u.id, u.username, u.password, u.enabled, "
+            + "u.accountNotExpired, u.credentialNotExpired, u.accountNotLocked) "
+            + "FROM UserSec u WHERE u.username = :username")
+    Optional<UserCredentialsDTO> findCredentialsByUsername(@Param("username") String username);
+
+    // Lo mismo por id, para renovar la sesión con un refresh token (los usuarios dados de baja no)
+    @Query("SELECT new com.proyecto.blog.dto.UserCredentialsDTO(u.id, u.username, u.password, u.enabled, "
+            + "u.accountNotExpired, u.credentialNotExpired, u.accountNotLocked) "
+            + "FROM UserSec u WHERE u.id = :id AND u.deleted = false")
+    Optional<UserCredentialsDTO> findCredentialsById(@Param("id") Long id);
+
+    // Ids de los roles del usuario leídos directo de la tabla intermedia (no toca roles ni permisos)
+    @Query(value = "SELECT role_id FROM user_roles WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findRoleIdsByUserId(@Param("userId") Long userId);
+
 
 }
@@ -0,0 +1,146 @@
+package com.proyecto.blog.security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Rutas públicas (sin JWT) definidas en un solo lugar: las usan el permitAll de SecurityConfig y
+// el atajo de JwtTokenValidator. Los patrones son rutas exactas ("/auth/login") o un prefijo con
+// "/**" ("/swagger-ui/**", que también cubre "/swagger-ui"). Se compilan al arrancar en un trie
+// comprimido: decidir si una ruta es pública recorre la ruta una vez y no crea objetos.
+public final class PublicPathRegistry implements RequestMatcher {
+
+    private static final String SUBTREE = "/**";
+
+    private final List<String> patterns;
+    private final Node root;
+
+    private PublicPathRegistry(List<String> patterns) {
+        this.patterns = patterns;
+        TrieBuilder builder = new TrieBuilder();
+        for (String pattern : patterns) {
+            builder.add(pattern);
+        }
+        this.root = TrieBuilder.compress("", builder, true);
+    }
+
+    public static PublicPathRegistry of(String... patterns) {
+        return new PublicPathRegistry(List.of(patterns));
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    // Ruta dentro de la aplicación (sin el context path), igual que los requestMatchers de Spring Security
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int contextPathLength = request.getContextPath().length();
+        return uri != null && matches(uri, Math.min(contextPathLength, uri.length()));
+    }
+
+    public boolean matches(String path) {
+        return matches(path, 0);
+    }
+
+    private boolean matches(String path, int from) {
+        Node node = root;
+        int i = from;
+        while (true) {
+            // "/x/**" cubre "/x" y todo lo que sigue después de una barra, no "/xy"
+            if (node.subtree && (i == path.length() || path.charAt(i) == '/')) {
+                return true;
+            }
+            if (i == path.length()) {
+                return node.exact;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null || !path.startsWith(node.edge, i)) {
+                return false;
+            }
+            i += node.edge.length();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PublicPathRegistry " + patterns;
+    }
+
+    // Nodo del trie comprimido: cada arista es un tramo de ruta ("/auth/login") y no un carácter,
+    // así la comparación se hace con startsWith. Los hijos van en arreglos paralelos por primer carácter
+    private static final class Node {
+        private final String edge;
+        private final boolean exact;
+        private final boolean subtree;
+        private final char[] keys;
+        private final Node[] children;
+
+        private Node(String edge, boolean exact, boolean subtree, char[] keys, Node[] children) {
+            this.edge = edge;
+            this.exact = exact;
+            this.subtree = subtree;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        private Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    // Trie de un carácter por nodo, solo para armar el comprimido al arrancar
+    private static final class TrieBuilder {
+        private final Map<Character, TrieBuilder> children = new TreeMap<>();
+        private boolean exact;
+        private boolean subtree;
+
+        private void add(String pattern) {
+            boolean isSubtree = pattern.endsWith(SUBTREE);
+            String path = isSubtree ? pattern.substring(0, pattern.length() - SUBTREE.length()) : pattern;
+            if (!pattern.startsWith("/") || path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0) {
+                throw new IllegalArgumentException("Patrón de ruta pública no soportado: " + pattern);
+            }
+
+            TrieBuilder node = this;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new TrieBuilder());
+            }
+            if (isSubtree) {
+                node.subtree = true;
+            } else {
+                node.exact = true;
+            }
+        }
+
+        // Junta en una sola arista las cadenas de nodos con un único hijo y sin patrón propio.
+        // La raíz queda sin arista: la búsqueda empieza por el primer carácter de la ruta
+        private static Node compress(String edge, TrieBuilder node, boolean root) {
+            StringBuilder path = new StringBuilder(edge);
+            while (!root && !node.exact && !node.subtree && node.children.size() == 1) {
+                Map.Entry<Character, TrieBuilder> only = node.children.entrySet().iterator().next();
+                path.append(only.getKey());
+                node = only.getValue();
+            }
+
+            char[] keys = new char[node.children.size()];
+            Node[] children = new Node[keys.length];
+            int i = 0;
+            for (Map.Entry<Character, TrieBuilder> child : node.children.entrySet()) {
+                keys[i] = child.getKey();
+                children[i++] = compress(String.valueOf(child.getKey()), child.getValue(), false);
+            }
+            return new Node(path.toString(), node.exact, node.subtree, keys, children);
+        }
+    }
+}
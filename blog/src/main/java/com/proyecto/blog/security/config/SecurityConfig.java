@@ -2,6 +2,9 @@ package com.proyecto.blog.security.config;
 
 import com.proyecto.blog.security.config.filter.JwtTokenValidator;
 import com.proyecto.blog.utils.JwtUtils;
+import com.proyecto.blog.utils.TokenRevocations;
+import com.proyecto.blog.utils.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,14 +42,33 @@ import java.util.Set;
 public class SecurityConfig {
 
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache tokenCache;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtUtils jwtUtils) {
+    public SecurityConfig(JwtUtils jwtUtils, VerifiedTokenCache tokenCache, MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
+        this.tokenCache = tokenCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 🔓 Rutas públicas: las usan tanto el permitAll como el filtro JWT, no repetirlas en otro lado
+    @Bean
+    public PublicPathRegistry publicPaths() {
+        return PublicPathRegistry.of(
+                "/auth/login",
+                "/auth/refresh",
+                "/v3/api-docs/**",
+                "/swagger-ui/**",
+                "/swagger-ui.html",
+                "/api/users/register",
+                "/.well-known/jwks.json"
+        );
     }
 
     // 🔐 Seguridad general con JWT
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, PublicPathRegistry publicPaths,
+                                                   TokenRevocations revokedTokens) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session
@@ -57,17 +79,14 @@ public class SecurityConfig {
                             response.getWriter().write("Unauthorized: " + authException.getMessage());
                         }))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(
-                                "/auth/login",
-                                "/v3/api-docs/**",
-                                "/swagger-ui/**",
-                                "/swagger-ui.html",
-                                "/api/users/register",
-                                "/api/users/1"
-                        ).permitAll()
+                        .requestMatchers(publicPaths).permitAll()
+                        // Del actuator, cualquier usuario logueado solo ve health; métricas, prometheus y
+                        // loggers (leerlos y cambiarlos en caliente) quedan reservados a ADMIN
+                        .requestMatchers("/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(jwtUtils, tokenCache, meterRegistry, publicPaths, revokedTokens), BasicAuthenticationFilter.class)
                 .formLogin(AbstractHttpConfigurer::disable)
                 .oauth2Login(AbstractHttpConfigurer::disable)
                 .logout(AbstractHttpConfigurer::disable)
@@ -77,7 +96,8 @@ public class SecurityConfig {
     // 🔐 Codificador de contraseñas
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Mide cada encode/matches de BCrypt (registro, alta de usuarios y login)
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     // ⚠️ Si no usás OAuth2, podés eliminar esto
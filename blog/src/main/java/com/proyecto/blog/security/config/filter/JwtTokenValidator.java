@@ -1,29 +1,69 @@
 package com.proyecto.blog.security.config.filter;
 
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.proyecto.blog.security.config.PublicPathRegistry;
 import com.proyecto.blog.utils.JwtUtils;
+import com.proyecto.blog.utils.TokenRevocations;
+import com.proyecto.blog.utils.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class JwtTokenValidator extends OncePerRequestFilter {
 
-    private JwtUtils jwtUtils;
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenValidator.class);
 
-    public JwtTokenValidator(JwtUtils jwtUtils) {
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
+    private final PublicPathRegistry publicPaths;
+    private final TokenRevocations revokedTokens;
+
+    // Tiempo de validación por resultado; se registran una vez para no buscarlos en cada request
+    private final Timer cachedTimer;
+    private final Timer successTimer;
+    private final Timer expiredTimer;
+    private final Timer invalidTimer;
+    private final Timer revokedCachedTimer;
+    private final Timer revokedTimer;
+
+    public JwtTokenValidator(JwtUtils jwtUtils, VerifiedTokenCache tokenCache, MeterRegistry meterRegistry,
+                             PublicPathRegistry publicPaths, TokenRevocations revokedTokens) {
         this.jwtUtils = jwtUtils;
+        this.tokenCache = tokenCache;
+        this.publicPaths = publicPaths;
+        this.revokedTokens = revokedTokens;
+        this.cachedTimer = validationTimer(meterRegistry, "success", "hit");
+        this.successTimer = validationTimer(meterRegistry, "success", "miss");
+        this.expiredTimer = validationTimer(meterRegistry, "expired", "miss");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid", "miss");
+        this.revokedCachedTimer = validationTimer(meterRegistry, "revoked", "hit");
+        this.revokedTimer = validationTimer(meterRegistry, "revoked", "miss");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome, String cache) {
+        return Timer.builder("security.jwt.validation")
+                .description("Tiempo de validación del JWT en el filtro")
+                .tag("outcome", outcome)
+                .tag("cache", cache)
+                .register(meterRegistry);
     }
 
     @Override
@@ -31,36 +71,52 @@ public class JwtTokenValidator extends OncePerRequestFilter {
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        String path = request.getServletPath();
-
-        if (path.startsWith("/v3/api-docs")
-                || path.startsWith("/swagger-ui")
-                || path.equals("/swagger-ui.html")
-                || path.equals("/auth/login")
-                || path.equals("/api/users/register")) {
+        // Rutas públicas: ni se mira el header (mismas rutas que el permitAll de SecurityConfig)
+        if (publicPaths.matches(request)) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        String path = request.getServletPath();
+
         String jwtToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        long start = System.nanoTime();
 
         try {
             if (jwtToken != null && jwtToken.startsWith("Bearer ")) {
                 jwtToken = jwtToken.substring(7);
-                DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
-
-                String username = jwtUtils.extractUsername(decodedJWT);
-                String authorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
-
-                Collection authoritiesList = AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
 
-                SecurityContext context = SecurityContextHolder.getContext();
-                Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authoritiesList);
-                context.setAuthentication(authentication);
-                SecurityContextHolder.setContext(context);
+                // Si el token ya fue verificado y no expiró, evitamos decodificarlo y verificar la firma
+                String cacheKey = VerifiedTokenCache.key(jwtToken);
+                VerifiedTokenCache.CachedToken cached = tokenCache.get(cacheKey);
+                Timer timer = cachedTimer;
+                if (cached == null) {
+                    DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
+
+                    String username = jwtUtils.extractUsername(decodedJWT);
+                    List<GrantedAuthority> authoritiesList = jwtUtils.extractAuthorities(decodedJWT);
+                    cached = tokenCache.put(cacheKey, username, authoritiesList, decodedJWT.getId(), decodedJWT.getExpiresAt());
+                    timer = successTimer;
+                }
+
+                // También con hit en la cache: un token se puede revocar después de haberlo verificado
+                if (revokedTokens.isRevoked(cached.jti())) {
+                    (timer == cachedTimer ? revokedCachedTimer : revokedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    log.debug("Token revocado en {}", path);
+                } else {
+                    SecurityContext context = SecurityContextHolder.getContext();
+                    Authentication authentication = new UsernamePasswordAuthenticationToken(cached.username(), null, cached.authorities());
+                    context.setAuthentication(authentication);
+                    SecurityContextHolder.setContext(context);
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
             }
+        } catch (TokenExpiredException e) {
+            expiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Token vencido en {}: {}", path, e.getMessage());
         } catch (Exception e) {
-            System.out.println("Token inválido o error en el filtro: " + e.getMessage());
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Token inválido o error en el filtro en {}: {}", path, e.getMessage());
         }
 
         filterChain.doFilter(request, response);
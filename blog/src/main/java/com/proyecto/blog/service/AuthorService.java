@@ -1,17 +1,23 @@
 package com.proyecto.blog.service;
 
 import com.proyecto.blog.dto.AuthorDTO;
-import com.proyecto.blog.dto.PostDTO;
+import com.proyecto.blog.dto.PostSummaryDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
 import com.proyecto.blog.model.UserSec;
 import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
 import com.proyecto.blog.repository.IUserSecRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class AuthorService implements IAuthorService{
@@ -22,26 +28,40 @@ public class AuthorService implements IAuthorService{
     @Autowired
     private IUserSecRepository userSecRepository; // Repositorio de UserSec para asociar un UserSec al Author
 
+    @Autowired
+    private IPostRepository postRepository; // Conteos y últimos posts por autor, y validadores de GET condicional
+
+    @Autowired
+    private VersionStampCache versionStamps; // Validadores de la lista de autores y de posts, en memoria
+
+    @Value("${blog.authors.recent-posts:5}")
+    private int recentPostsPerAuthor;
+
+    // Máximo de ids por IN (...) al armar los resúmenes de muchos autores
+    private static final int SUMMARY_CHUNK_SIZE = 500;
+
     @Override
+    @Transactional(readOnly = true)
     public Optional<Author> getAuthorEntityById(Long id) {
         return authorRepository.findByIdAndDeletedFalse(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AuthorDTO> getAllAuthors() {
         List<Author> authors = authorRepository.findByDeletedFalse();  // Solo obtener autores no eliminados
-        return authors.stream()
-                .map(this::convertToDTO)  // Convertir cada Author a AuthorDTO
-                .collect(Collectors.toList());
+        return convertToDTOs(authors);  // Dos consultas agregadas para toda la lista, sin cargar posts
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<AuthorDTO> getAuthorById(Long id) {
         Optional<Author> author = authorRepository.findByIdAndDeletedFalse(id);  // Solo obtener si no está eliminado
         return author.map(this::convertToDTO);  // Convertir el Author a AuthorDTO si lo encuentra
     }
 
     @Override
+    @Transactional
     public AuthorDTO createAuthor(Long userId) { // userId es el ID del usuario en la tabla users
         UserSec user = userSecRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
@@ -57,11 +77,13 @@ public class AuthorService implements IAuthorService{
         Author author = new Author();
         author.setUser(user);  // Asociamos el usuario al autor
         Author savedAuthor = authorRepository.save(author);
+        versionStamps.invalidateAuthors();
 
         return convertToDTO(savedAuthor);  // Devolvemos el Author como AuthorDTO
     }
 
     @Override
+    @Transactional
     public AuthorDTO updateAuthor(Long id, Author authorDetails) {
         // Buscar el Author por id
         Author existingAuthor = authorRepository.findByIdAndDeletedFalse(id)
@@ -73,30 +95,78 @@ public class AuthorService implements IAuthorService{
 
         // Guardar el Author actualizado
         Author updatedAuthor = authorRepository.save(existingAuthor);
+        versionStamps.invalidateAuthors();
 
         return convertToDTO(updatedAuthor);  // Devolvemos el Author actualizado como AuthorDTO
     }
 
+    // El DTO de un autor incluye sus posts, así que el validador combina ambas tablas
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStampDTO getAuthorVersion(Long id) {
+        VersionStampDTO authorStamp = authorRepository.findVersionStampById(id);
+        if (authorStamp.isEmpty()) {
+            return authorStamp;
+        }
+        return authorStamp.combine(postRepository.findVersionStampByAuthorId(id));
+    }
+
+    // Sin transacción: los dos resúmenes salen de VersionStampCache, que los lee del primario
+    @Override
+    public VersionStampDTO getAuthorsVersion() {
+        return versionStamps.authors().combine(versionStamps.posts());
+    }
+
     // Método para convertir Author a AuthorDTO
-    private AuthorDTO convertToDTO(Author author) {
-        List<PostDTO> postDTOs = author.getPosts().stream()
-                .map(post -> new PostDTO(post.getId(), post.getTitle(), post.getContent()))
-                .collect(Collectors.toList());
+    AuthorDTO convertToDTO(Author author) {
+        return convertToDTOs(List.of(author)).get(0);
+    }
+
+    // Convierte una lista de autores con el conteo y los últimos posts de cada uno. El costo depende
+    // de la cantidad de autores, no de cuántos posts tengan: nunca se toca author.getPosts()
+    List<AuthorDTO> convertToDTOs(List<Author> authors) {
+        Map<Long, Long> postCounts = new HashMap<>();
+        Map<Long, List<PostSummaryDTO>> recentPosts = new HashMap<>();
+
+        for (int from = 0; from < authors.size(); from += SUMMARY_CHUNK_SIZE) {
+            List<Long> ids = authors.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, authors.size())).stream()
+                    .map(Author::getId)
+                    .toList();
+
+            for (Object[] row : postRepository.countPostsByAuthorIds(ids)) {
+                postCounts.put((Long) row[0], (Long) row[1]);
+            }
+            // Consulta nativa: los tipos numéricos dependen del driver
+            for (Object[] row : postRepository.findRecentPostsByAuthorIds(ids, recentPostsPerAuthor)) {
+                recentPosts.computeIfAbsent(((Number) row[0]).longValue(), key -> new ArrayList<>())
+                        .add(new PostSummaryDTO(((Number) row[1]).longValue(), (String) row[2]));
+            }
+        }
+
+        return authors.stream()
+                .map(author -> toDTO(author, postCounts.getOrDefault(author.getId(), 0L),
+                        recentPosts.getOrDefault(author.getId(), List.of())))
+                .toList();
+    }
 
+    AuthorDTO toDTO(Author author, long postCount, List<PostSummaryDTO> recentPosts) {
         return new AuthorDTO(
                 author.getId(),
                 author.getName(),
-                postDTOs
+                postCount,
+                recentPosts
         );
     }
 
     @Override
+    @Transactional
     public boolean deleteAuthor(Long id) {
         Optional<Author> author = authorRepository.findByIdAndDeletedFalse(id);
         if (author.isPresent()) {
             Author authorToDelete = author.get();
             authorToDelete.setDeleted(true);  // Marcamos el author como eliminado
             authorRepository.save(authorToDelete);
+            versionStamps.invalidateAuthors();
             return true;
         }
         return false;  // No encontrado o ya eliminado
@@ -1,6 +1,7 @@
 package com.proyecto.blog.service;
 
 import com.proyecto.blog.dto.AuthorDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
 
 import java.util.List;
@@ -13,6 +14,8 @@ public interface IAuthorService {
     List<AuthorDTO> getAllAuthors(); // Obtener todos los autores
     AuthorDTO updateAuthor(Long id, Author authorDetails); // Actualizar un autor existente
     boolean deleteAuthor(Long id); // Eliminar un autor
+    VersionStampDTO getAuthorVersion(Long id); // Validador barato para GET condicional de un autor y sus posts
+    VersionStampDTO getAuthorsVersion(); // Validador barato para GET condicional de la lista de autores
 
     Optional<Author> getAuthorEntityById(Long id); // Nuevo método para obtener la entidad real
 
@@ -1,9 +1,15 @@
 package com.proyecto.blog.service;
 
 import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.dto.PostImportResultDTO;
+import com.proyecto.blog.dto.PostSearchPageDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Post;
 import org.springframework.security.core.Authentication;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +18,13 @@ public interface IPostService {
     PostDTOandNameAuthor createPost(Post post);
     Optional<PostDTOandNameAuthor> getPostById(Long id);
     List<PostDTOandNameAuthor> getAllPosts();
+    PostFeedDTO getPostFeed(String cursor, Integer size);
+    PostFeedDTO getAuthorPostFeed(Long authorId, String cursor, Integer size); // Posts de un autor, paginados por cursor
+    PostSearchPageDTO searchPosts(String query, int page, int size);
+    VersionStampDTO getPostVersion(Long id); // Validador barato para GET condicional de un post
+    VersionStampDTO getPostsVersion(); // Validador barato para GET condicional de la lista
+    PostImportResultDTO importPosts(InputStream json); // Importación masiva desde un arreglo JSON
+    long exportPosts(Long afterId, OutputStream out); // Exportación NDJSON en streaming
     PostDTOandNameAuthor updatePost(Long id, Post postDetails, Authentication authentication);
     boolean deletePost(Long id);
 }
@@ -14,6 +14,7 @@ public interface IUserSecService {
     List<UserSec> getAllUserSecs(); // Obtener todos los UserSecs
     UserSec updateUserSec(Long id, UserDTO userDTO, boolean isAuthor, String authorName); // Actualizar un UserSec
     boolean deleteUserSec(Long id); // Eliminar un UserSec
+    int revokeSessions(Long id); // Revocar todos los refresh tokens de un UserSec
     //agregamos el método de encriptado
     public String encriptPassword(String password);
 }
@@ -0,0 +1,179 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.model.JwtPrivateKey;
+import com.proyecto.blog.model.JwtSigningKey;
+import com.proyecto.blog.repository.IJwtPrivateKeyRepository;
+import com.proyecto.blog.repository.IJwtSigningKeyRepository;
+import com.proyecto.blog.utils.JwtKeyRing;
+import com.proyecto.blog.utils.JwtKeySource;
+import com.proyecto.blog.utils.JwtUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Claves de firma de los JWT, guardadas en jwt_signing_keys para que todas las instancias firmen y
+// verifiquen con las mismas. Cada refresh-interval-ms se recargan de la base; la instancia que ve
+// que la clave más nueva ya cumplió rotation-interval-ms crea otra (si dos lo hacen a la vez quedan
+// dos claves nuevas y todas terminan firmando con la más reciente). Un cambio de algoritmo se aplica
+// en la próxima rotación. Una clave vieja se sigue publicando y aceptando mientras pueda haber
+// tokens vigentes firmados con ella.
+// Con signing-enabled=false la instancia solo verifica: no crea claves ni firma tokens, y solo lee las
+// públicas (jwt_signing_keys). Las privadas están en jwt_private_keys y las lee solo quien firma, una
+// vez por clave: al aparecer una más nueva se carga la privada de esa y nada más.
+// Las claves se leen siempre del primario: en una réplica atrasada no estaría la clave que esta
+// instancia acaba de crear (seguiría firmando con la anterior y volvería a rotar) ni la que creó otra.
+@Component
+public class JwtSigningKeyService implements JwtKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtSigningKeyService.class);
+
+    @Autowired
+    private IJwtSigningKeyRepository keyRepository;
+
+    @Autowired
+    private IJwtPrivateKeyRepository privateKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${security.jwt.user.generator}")
+    private String issuer;
+
+    @Value("${security.jwt.keys.algorithm:RS256}")
+    private String algorithm;
+
+    @Value("${security.jwt.keys.signing-enabled:true}")
+    private boolean signingEnabled;
+
+    @Value("${security.jwt.keys.rotation-interval-ms:86400000}")
+    private long rotationIntervalMs;
+
+    @Value("${security.jwt.keys.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    // Un kid desconocido recarga las claves a lo sumo una vez en este lapso: un kid inventado no satura la base
+    @Value("${security.jwt.keys.unknown-kid-refresh-ms:1000}")
+    private long unknownKidRefreshMs;
+
+    private volatile JwtKeyRing ring = JwtKeyRing.empty();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Transacción propia y no readOnly, así ReadWriteRoutingDataSource la manda al primario
+    private TransactionTemplate primaryRead;
+    private final AtomicLong lastUnknownKidRefresh = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        lastUnknownKidRefresh.set(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(unknownKidRefreshMs));
+        refresh();
+        if (refreshIntervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwt-key-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public JwtKeyRing current() {
+        return ring;
+    }
+
+    @Override
+    public JwtKeyRing refreshFor(String kid) {
+        long now = System.nanoTime();
+        long last = lastUnknownKidRefresh.get();
+        if (now - last >= TimeUnit.MILLISECONDS.toNanos(unknownKidRefreshMs) && lastUnknownKidRefresh.compareAndSet(last, now)) {
+            refreshQuietly();
+        }
+        return ring;
+    }
+
+    // Recarga las claves de la base y rota si la que firma ya cumplió el intervalo
+    public void refresh() {
+        refresh(false);
+    }
+
+    // Crea una clave nueva ahora, sin esperar el intervalo (por ejemplo si la actual se filtró)
+    public void rotate() {
+        refresh(true);
+    }
+
+    private void refresh(boolean forceRotation) {
+        refreshLock.lock();
+        try {
+            ring = primaryRead.execute(status -> {
+                List<JwtSigningKey> keys = loadKeys(forceRotation);
+                return JwtKeyRing.build(keys, issuer, signingKey(keys), ring);
+            });
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private List<JwtSigningKey> loadKeys(boolean forceRotation) {
+        Instant now = Instant.now();
+        List<JwtSigningKey> keys = keyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(now.minusMillis(retentionMs()));
+        if (signingEnabled && (forceRotation || keys.isEmpty()
+                || keys.get(0).getCreatedAt().isBefore(now.minusMillis(rotationIntervalMs)))) {
+            JwtKeyRing.GeneratedKey generated = JwtKeyRing.generate(algorithm, now);
+            keyRepository.save(generated.key());
+            privateKeyRepository.save(generated.privateKey());
+            log.info("Nueva clave de firma JWT: kid={}", generated.key().getKid());
+            // Se vuelve a leer: trae también las que otra instancia haya creado al mismo tiempo
+            keys = keyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(now.minusMillis(retentionMs()));
+            // Las que ya no sirven ni para verificar no quedan en la base (sus privadas se borran en cascada)
+            keyRepository.deleteByCreatedAtBefore(now.minusMillis(2 * retentionMs()));
+        }
+        return keys;
+    }
+
+    // Privada de la clave más nueva, solo si esta instancia firma y todavía no la tiene
+    private JwtPrivateKey signingKey(List<JwtSigningKey> keys) {
+        String newestKid = JwtKeyRing.newestKid(keys);
+        if (!signingEnabled || newestKid == null || newestKid.equals(ring.signingKid())) {
+            return null;
+        }
+        return privateKeyRepository.findById(newestKid).orElse(null);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron recargar las claves JWT; se siguen usando las anteriores", e);
+        }
+    }
+
+    // Una clave firma hasta que aparece la siguiente (rotación + una recarga de demora) y sus
+    // tokens duran TOKEN_VALIDITY_MS más; otra recarga de margen para las demás instancias
+    private long retentionMs() {
+        return rotationIntervalMs + 2 * refreshIntervalMs + JwtUtils.TOKEN_VALIDITY_MS;
+    }
+}
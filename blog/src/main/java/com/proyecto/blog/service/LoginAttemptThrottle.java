@@ -0,0 +1,53 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.excepcion.TooManyLoginAttemptsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+// Limita los intentos de login por username y por IP antes de tocar la base o BCrypt.
+// Usa contadores atómicos repartidos en stripes (sin lock global) y memoria acotada:
+// la cantidad de stripes es fija, no crece con la cantidad de usuarios o IPs distintas.
+@Component
+public class LoginAttemptThrottle {
+
+    private final SlidingWindowCounter usernameCounter;
+    private final SlidingWindowCounter ipCounter;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+
+    @Autowired
+    public LoginAttemptThrottle(@Value("${blog.login.throttle.stripes:4096}") int stripes,
+                                @Value("${blog.login.throttle.buckets:6}") int buckets,
+                                @Value("${blog.login.throttle.bucket-ms:10000}") long bucketMillis,
+                                @Value("${blog.login.throttle.max-per-username:10}") int maxPerUsername,
+                                @Value("${blog.login.throttle.max-per-ip:60}") int maxPerIp) {
+        this(stripes, buckets, bucketMillis, maxPerUsername, maxPerIp, System::currentTimeMillis);
+    }
+
+    LoginAttemptThrottle(int stripes, int buckets, long bucketMillis,
+                         int maxPerUsername, int maxPerIp, LongSupplier clock) {
+        this.usernameCounter = new SlidingWindowCounter(stripes, buckets, bucketMillis, clock);
+        this.ipCounter = new SlidingWindowCounter(stripes, buckets, bucketMillis, clock);
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+    }
+
+    // Registra el intento o lanza TooManyLoginAttemptsException si se superó algún límite
+    public void checkAttempt(String username, String clientIp) {
+        if (clientIp != null && !ipCounter.tryAcquire(clientIp, maxPerIp)) {
+            throw rejected(ipCounter);
+        }
+        if (username != null && !usernameCounter.tryAcquire(username.toLowerCase(Locale.ROOT), maxPerUsername)) {
+            throw rejected(usernameCounter);
+        }
+    }
+
+    private TooManyLoginAttemptsException rejected(SlidingWindowCounter counter) {
+        long retryAfterSeconds = Math.max(1, counter.windowMillis() / 1000);
+        return new TooManyLoginAttemptsException("Demasiados intentos de login, reintente más tarde", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,108 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.excepcion.LoginOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Ejecuta la verificación BCrypt del login en un pool propio, acotado en hilos y en cola.
+// Así una ráfaga de logins no consume todos los hilos de Tomcat: cuando la cola se llena
+// el login falla enseguida con LoginOverloadedException (503 + Retry-After).
+@Service
+public class LoginHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+
+    public LoginHashingService(PasswordEncoder passwordEncoder,
+                               MeterRegistry meterRegistry,
+                               @Value("${blog.login.hashing.pool-size:0}") int poolSize,
+                               @Value("${blog.login.hashing.queue-capacity:64}") int queueCapacity,
+                               @Value("${blog.login.hashing.timeout-ms:5000}") long timeoutMs,
+                               @Value("${blog.login.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // Por defecto un hilo por core: BCrypt es puro CPU, más hilos solo agregan cambios de contexto
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("blog.login.hash.wait")
+                .description("Tiempo que una verificación de contraseña espera en la cola")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("blog.login.hash.time")
+                .description("Tiempo de CPU de la verificación BCrypt")
+                .register(meterRegistry);
+        Gauge.builder("blog.login.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Verificaciones de contraseña en cola")
+                .register(meterRegistry);
+        Gauge.builder("blog.login.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Verificaciones de contraseña en ejecución")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error verificando la contraseña", e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LoginOverloadedException overloaded() {
+        return new LoginOverloadedException("Demasiados logins en curso, reintente en unos segundos", retryAfterSeconds);
+    }
+}
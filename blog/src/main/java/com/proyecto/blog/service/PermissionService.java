@@ -19,12 +19,16 @@ public class PermissionService implements IPermissionService{
     @Autowired
     private IPermissionRepository permissionRepository;
 
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+
     @Override
     public PermissionResponseDTO createPermission(PermissionDTO permissionDTO) {
         Permission permission = new Permission();
         permission.setPermissionName(permissionDTO.getPermissionName());
 
         Permission savedPermission = permissionRepository.save(permission);
+        authoritySnapshot.rebuildAfterCommit();
         return PermissionResponseDTO.fromEntity(savedPermission);
     }
 
@@ -56,6 +60,7 @@ public class PermissionService implements IPermissionService{
 
         permission.setPermissionName(permissionDTO.getPermissionName());
         Permission updatedPermission = permissionRepository.save(permission);
+        authoritySnapshot.rebuildAfterCommit();
 
         return PermissionResponseDTO.fromEntity(updatedPermission);
     }
@@ -67,6 +72,7 @@ public class PermissionService implements IPermissionService{
 
         permission.setDeleted(true);
         permissionRepository.save(permission);
+        authoritySnapshot.rebuildAfterCommit();
     }
 
 
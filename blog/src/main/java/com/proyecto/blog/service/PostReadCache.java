@@ -0,0 +1,98 @@
+package com.proyecto.blog.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.VersionStampDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Lecturas de un post por id con carga de un solo vuelo: mientras una carga está en curso, los
+// demás requests por el mismo id esperan el mismo CompletableFuture en lugar de consultar la base.
+// El resultado (también el "no existe") queda unos instantes en memoria; PostService invalida el id
+// después de cada commit que lo modifica. Cambios que llegan por otro lado (el username del autor,
+// otra instancia de la app) se ven a lo sumo ttl-ms más tarde.
+@Component
+public class PostReadCache implements MeterBinder {
+
+    @Value("${blog.posts.read-cache.ttl-ms:1000}")
+    private long ttlMs;
+
+    @Value("${blog.posts.read-cache.max-entries:10000}")
+    private long maxEntries;
+
+    private AsyncCache<Long, Optional<PostDTOandNameAuthor>> views;
+    private AsyncCache<Long, VersionStampDTO> versions;
+
+    @PostConstruct
+    void init() {
+        views = newCache();
+        versions = newCache();
+    }
+
+    public Optional<PostDTOandNameAuthor> getView(Long id, Function<Long, Optional<PostDTOandNameAuthor>> loader) {
+        return load(views, id, loader);
+    }
+
+    public VersionStampDTO getVersion(Long id, Function<Long, VersionStampDTO> loader) {
+        return load(versions, id, loader);
+    }
+
+    // También descarta una carga en curso: quien llegue después vuelve a leer de la base
+    public void invalidate(Long id) {
+        views.synchronous().invalidate(id);
+        versions.synchronous().invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, views.synchronous(), "posts.view");
+        CaffeineCacheMetrics.monitor(registry, versions.synchronous(), "posts.version");
+    }
+
+    CacheStats viewStats() {
+        return views.synchronous().stats();
+    }
+
+    private <V> AsyncCache<Long, V> newCache() {
+        // Los futures en curso no vencen; el ttl corre desde que la carga termina
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxEntries)
+                .recordStats()
+                .buildAsync();
+    }
+
+    private static <V> V load(AsyncCache<Long, V> cache, Long id, Function<Long, V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(id, (key, executor) -> mine);
+        if (future == mine) {
+            // Nos tocó cargar: lo hacemos en este mismo hilo (con su usuario y su transacción)
+            try {
+                mine.complete(loader.apply(id));
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e); // Caffeine saca el future fallido; los que esperaban reciben el error
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostSearchPageDTO;
+import com.proyecto.blog.dto.PostSearchResultDTO;
+import com.proyecto.blog.repository.IPostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Índice invertido en memoria sobre el título y el contenido de los posts.
+// Término -> (id de post -> frecuencia), con ranking BM25. PostService lo mantiene al día en
+// create/update/delete y al arrancar se reconstruye desde la base en paralelo.
+// La reconstrucción arma un índice nuevo aparte y lo reemplaza de una vez: mientras tanto las búsquedas
+// siguen usando el anterior, y las escrituras que llegan en el medio se aplican a los dos.
+@Component
+public class PostSearchIndex {
+
+    // Parámetros estándar de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Las palabras del título pesan más que las del contenido
+    private static final int TITLE_BOOST = 3;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    // Datos mínimos del post para armar el resultado sin ir a la base
+    private record IndexedPost(Long id, String title, String authorName, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    // Los mapas de un índice; search toma la referencia una vez y trabaja siempre sobre el mismo
+    private static final class Index {
+
+        private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, IndexedPost> documents = new ConcurrentHashMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+
+        void put(IndexedPost indexed) {
+            IndexedPost previous = documents.put(indexed.id(), indexed);
+            if (previous != null) {
+                removePostings(previous);
+            }
+
+            // compute es atómico por término, así no competimos con removePostings sobre el mismo mapa
+            indexed.termFrequencies().forEach((term, frequency) ->
+                    postings.compute(term, (key, termPostings) -> {
+                        Map<Long, Integer> updated = termPostings != null ? termPostings : new ConcurrentHashMap<>();
+                        updated.put(indexed.id(), frequency);
+                        return updated;
+                    }));
+            totalLength.addAndGet(indexed.length());
+        }
+
+        void remove(Long postId) {
+            IndexedPost previous = documents.remove(postId);
+            if (previous != null) {
+                removePostings(previous);
+            }
+        }
+
+        private void removePostings(IndexedPost document) {
+            document.termFrequencies().keySet().forEach(term ->
+                    postings.computeIfPresent(term, (key, termPostings) -> {
+                        termPostings.remove(document.id());
+                        return termPostings.isEmpty() ? null : termPostings;
+                    }));
+            totalLength.addAndGet(-document.length());
+        }
+    }
+
+    private volatile Index current = new Index();
+
+    // Las escrituras se serializan entre sí (no con las búsquedas); durante un rebuild además quedan
+    // anotadas para aplicarlas al índice nuevo antes de publicarlo. Lock en lugar de synchronized, y
+    // nunca tomado mientras se lee la base: con hilos virtuales un synchronized fija el hilo a su carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private List<Consumer<Index>> pendingWrites;
+    // Un solo rebuild a la vez, sin lock: el que llega con otro en curso lo deja pedido y vuelve enseguida
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Value("${blog.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${blog.search.max-page-size:100}")
+    private int maxPageSize;
+
+    // Agrega o reemplaza un post en el índice
+    public void index(PostDTOandNameAuthor post) {
+        IndexedPost indexed = analyze(post);
+        write(target -> target.put(indexed));
+    }
+
+    public void remove(Long postId) {
+        write(target -> target.remove(postId));
+    }
+
+    public PostSearchPageDTO search(String query, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        int pageNumber = Math.max(page, 0);
+
+        Index index = current;
+        Set<String> terms = new LinkedHashSet<>(PostTokenizer.tokenize(query));
+        int documentCount = index.documents.size();
+        if (terms.isEmpty() || documentCount == 0) {
+            return new PostSearchPageDTO(List.of(), pageNumber, pageSize, 0);
+        }
+        double averageLength = Math.max(1.0, (double) index.totalLength.get() / documentCount);
+
+        // Acumulamos el puntaje BM25 de cada post que contiene algún término
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = index.postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            termPostings.forEach((postId, frequency) -> {
+                IndexedPost document = index.documents.get(postId);
+                if (document == null) {
+                    return; // Eliminado mientras buscábamos
+                }
+                double norm = K1 * (1 - B + B * document.length() / averageLength);
+                double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                scores.merge(postId, score, Double::sum);
+            });
+        }
+
+        // En long: page * size no entra en un int para páginas muy altas. Pasado el final, página vacía
+        long offset = (long) pageNumber * pageSize;
+        if (offset >= scores.size()) {
+            return new PostSearchPageDTO(List.of(), pageNumber, pageSize, scores.size());
+        }
+
+        // Solo ordenamos los mejores offset + size, no todos los resultados
+        int wanted = (int) Math.min(offset + pageSize, scores.size());
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ordered = new ArrayList<>(top);
+        ordered.sort(ranking.reversed());
+
+        List<PostSearchResultDTO> results = new ArrayList<>();
+        for (int i = (int) offset; i < ordered.size(); i++) {
+            Map.Entry<Long, Double> entry = ordered.get(i);
+            IndexedPost document = index.documents.get(entry.getKey());
+            if (document != null) {
+                results.add(new PostSearchResultDTO(document.id(), document.title(), document.authorName(), entry.getValue()));
+            }
+        }
+        return new PostSearchPageDTO(results, pageNumber, pageSize, scores.size());
+    }
+
+    public int size() {
+        return current.documents.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // Si ya hay un rebuild en curso, ese vuelve a empezar al terminar y esta llamada no espera
+    public void rebuild() {
+        rebuildRequested.set(true);
+        while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+            try {
+                if (rebuildRequested.getAndSet(false)) {
+                    rebuildOnce();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    // Recorre la tabla por páginas (keyset) y tokeniza cada página en paralelo sobre un índice nuevo.
+    // Lo que se escribió mientras tanto se vuelve a aplicar encima (es más nuevo o igual que lo leído)
+    private void rebuildOnce() {
+        writeLock.lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            Index next = new Index();
+            Limit limit = Limit.of(REBUILD_PAGE_SIZE);
+            List<PostDTOandNameAuthor> page = postRepository.findPostViewFeed(limit);
+            while (!page.isEmpty()) {
+                page.parallelStream().map(PostSearchIndex::analyze).forEach(next::put);
+                Long lastId = page.get(page.size() - 1).getId();
+                page = page.size() < REBUILD_PAGE_SIZE ? List.of() : postRepository.findPostViewFeedBefore(lastId, limit);
+            }
+
+            writeLock.lock();
+            try {
+                pendingWrites.forEach(pending -> pending.accept(next));
+                current = next;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void write(Consumer<Index> write) {
+        writeLock.lock();
+        try {
+            write.accept(current);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static IndexedPost analyze(PostDTOandNameAuthor post) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : PostTokenizer.tokenize(post.getTitle())) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : PostTokenizer.tokenize(post.getContent())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        return new IndexedPost(post.getId(), post.getTitle(), post.getAuthorName(), frequencies, length);
+    }
+}
@@ -1,21 +1,55 @@
 package com.proyecto.blog.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.dto.PostImportDTO;
+import com.proyecto.blog.dto.PostImportResultDTO;
+import com.proyecto.blog.dto.PostSearchPageDTO;
+import com.proyecto.blog.dto.VersionStampDTO;
 import com.proyecto.blog.model.Author;
 import com.proyecto.blog.model.Post;
 import com.proyecto.blog.model.UserSec;
 import com.proyecto.blog.repository.IAuthorRepository;
 import com.proyecto.blog.repository.IPostRepository;
 import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Service
 public class PostService implements IPostService{
@@ -29,8 +63,61 @@ public class PostService implements IPostService{
     @Autowired
     private AuthorService authorService;
 
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    @Autowired
+    private PostReadCache postReadCache;
+
+    @Autowired
+    private VersionStampCache versionStamps;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${blog.posts.feed.default-size:20}")
+    private int feedDefaultSize;
+
+    @Value("${blog.posts.feed.max-size:100}")
+    private int feedMaxSize;
+
+    @Value("${blog.posts.feed.count-refresh-ms:60000}")
+    private long countRefreshMs;
+
+    @Value("${blog.posts.feed.author-count-max-entries:10000}")
+    private long authorCountMaxEntries;
+
+    // La importación confirma un batch de JDBC por transacción
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int importBatchSize;
+
+    // Cada cuántas filas se empuja la exportación al cliente
+    @Value("${blog.posts.export.flush-every:500}")
+    private int exportFlushEvery;
+
+    // Hint del total de posts: se inicializa con un COUNT y luego se ajusta en create/delete
+    private final AtomicLong postCountHint = new AtomicLong(-1);
+    private volatile long postCountSeededAt;
+    // Lo mismo por autor: el feed de un autor no cuenta sus posts en cada página
+    private Cache<Long, Long> authorPostCountHints;
+
+    @PostConstruct
+    void initAuthorPostCountHints() {
+        authorPostCountHints = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(countRefreshMs))
+                .maximumSize(authorCountMaxEntries)
+                .build();
+    }
+
     // Crear un nuevo post
     @Override
+    @Transactional
     public PostDTOandNameAuthor createPost(Post post) {
         // Buscar el Author real por ID
         Author author = authorService.getAuthorEntityById(post.getAuthor().getId())
@@ -42,33 +129,199 @@ public class PostService implements IPostService{
         Post savedPost = postRepository.save(post);
 
         // Retornamos el DTO con el título, contenido y nombre del autor
-        return new PostDTOandNameAuthor(savedPost.getTitle(), savedPost.getContent(), savedPost.getAuthor().getUser().getUsername());
+        PostDTOandNameAuthor postDTO = toDTO(savedPost);
+        versionStamps.invalidatePosts();
+        afterCommit(() -> {
+            adjustPostCountHint(1);
+            adjustAuthorPostCountHint(author.getId(), 1);
+            searchIndex.index(postDTO);
+            postReadCache.invalidate(postDTO.getId()); // Pudo haber quedado en cache como inexistente
+        });
+        return postDTO;
     }
 
 
-    // Obtener un post por id
+    // Obtener un post por ID y devolver en formato DTO. Sin transacción propia: si la respuesta está en
+    // PostReadCache no se toma conexión; la consulta del repositorio abre la suya (readOnly)
     @Override
-    // Obtener un post por ID y devolver en formato DTO
     public Optional<PostDTOandNameAuthor> getPostById(Long id) {
-        return postRepository.findByIdAndDeletedFalse(id)
-                .map(post -> new PostDTOandNameAuthor(
-                        post.getTitle(),
-                        post.getContent(),
-                        post.getAuthor().getUser().getUsername()));
+        return postReadCache.getView(id, postRepository::findPostViewById);
     }
 
     // Obtener todos los posts en formato DTO
     @Override
+    @Transactional(readOnly = true)
     public List<PostDTOandNameAuthor> getAllPosts() {
-        return postRepository.findByDeletedFalse().stream()
-                .map(post -> new PostDTOandNameAuthor(
-                        post.getTitle(),
-                        post.getContent(),
-                        post.getAuthor().getUser().getUsername()))
-                .collect(Collectors.toList());
+        return postRepository.findPostViews();
+    }
+
+    // Obtener una página del feed paginado por cursor (keyset sobre id, del más nuevo al más viejo)
+    @Override
+    @Transactional(readOnly = true)
+    public PostFeedDTO getPostFeed(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+
+        // Pedimos un elemento extra para saber si hay página siguiente sin contar filas
+        Limit limit = Limit.of(pageSize + 1);
+        List<PostDTOandNameAuthor> page = (cursor == null || cursor.isBlank())
+                ? postRepository.findPostViewFeed(limit)
+                : postRepository.findPostViewFeedBefore(decodeCursor(cursor), limit);
+
+        return toFeed(page, pageSize, getPostCountHint());
+    }
+
+    // Misma paginación por cursor que el feed general, restringida a un autor
+    @Override
+    @Transactional(readOnly = true)
+    public PostFeedDTO getAuthorPostFeed(Long authorId, String cursor, Integer size) {
+        authorService.getAuthorEntityById(authorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Author not found"));
+        int pageSize = resolvePageSize(size);
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<PostDTOandNameAuthor> page = (cursor == null || cursor.isBlank())
+                ? postRepository.findPostViewFeedByAuthor(authorId, limit)
+                : postRepository.findPostViewFeedByAuthorBefore(authorId, decodeCursor(cursor), limit);
+
+        return toFeed(page, pageSize, getAuthorPostCountHint(authorId));
+    }
+
+    // page trae un elemento de más: si está, hay página siguiente
+    private PostFeedDTO toFeed(List<PostDTOandNameAuthor> page, int pageSize, long totalHint) {
+        boolean hasNext = page.size() > pageSize;
+        List<PostDTOandNameAuthor> posts = hasNext ? page.subList(0, pageSize) : page;
+
+        String nextCursor = hasNext ? encodeCursor(posts.get(posts.size() - 1).getId()) : null;
+        return new PostFeedDTO(posts, nextCursor, totalHint);
+    }
+
+    // Buscar posts por texto en título y contenido, ordenados por relevancia
+    @Override
+    public PostSearchPageDTO searchPosts(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La consulta no puede estar vacía");
+        }
+        return searchIndex.search(query, page, size);
+    }
+
+    // Cada GET /api/posts/{id} consulta primero el validador: pasa por la misma cache que el post
+    @Override
+    public VersionStampDTO getPostVersion(Long id) {
+        return postReadCache.getVersion(id, postRepository::findVersionStampById);
     }
+
+    // Sin transacción: sale de VersionStampCache. La lista muestra el username del autor y un cambio
+    // de username sube la versión del autor (UserService.updateUserSec), así que combina posts y autores
+    @Override
+    public VersionStampDTO getPostsVersion() {
+        return versionStamps.posts().combine(versionStamps.authors());
+    }
+
+    // Importación masiva: recorre el arreglo JSON elemento por elemento (sin cargarlo entero) y guarda
+    // cada batch en su propia transacción, vaciando el contexto de persistencia entre batches.
+    // Si un elemento es inválido se corta ahí; los batches anteriores quedan guardados.
+    @Override
+    public PostImportResultDTO importPosts(InputStream json) {
+        long imported = 0;
+        int batches = 0;
+        List<PostImportDTO> batch = new ArrayList<>(importBatchSize);
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se esperaba un arreglo JSON de posts");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(objectMapper.readValue(parser, PostImportDTO.class));
+                if (batch.size() == importBatchSize) {
+                    imported += saveImportBatch(batch, imported);
+                    batches++;
+                    batch.clear();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Elemento inválido en la posición " + (imported + batch.size()) + "; importados: " + imported);
+            }
+            if (!batch.isEmpty()) {
+                imported += saveImportBatch(batch, imported);
+                batches++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "JSON inválido; importados: " + imported);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PostImportResultDTO(imported, batches);
+    }
+
+    // Exportación NDJSON: una línea JSON por post en orden de id, escrita a medida que se lee del cursor.
+    // La memoria no depende del tamaño de la tabla. Si la conexión se corta, el cliente retoma con
+    // afterId = último id recibido.
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(Long afterId, OutputStream out) {
+        // Sin flush por valor: empujamos al cliente cada exportFlushEvery filas
+        ObjectWriter writer = objectMapper.writerFor(PostDTOandNameAuthor.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+        try (Stream<PostDTOandNameAuthor> posts = postRepository.streamPostViewsAfter(afterId == null ? 0L : afterId);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // La respuesta la cierra el contenedor
+            generator.setRootValueSeparator(null); // Separamos con '\n' en lugar del espacio por defecto
+            for (PostDTOandNameAuthor post : (Iterable<PostDTOandNameAuthor>) posts::iterator) {
+                writer.writeValue(generator, post);
+                generator.writeRaw('\n');
+                if (++exported % exportFlushEvery == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return exported;
+    }
+
+    private int saveImportBatch(List<PostImportDTO> batch, long offset) {
+        List<PostDTOandNameAuthor> saved = transactionTemplate.execute(status -> {
+            Map<Long, Author> authors = new HashMap<>();
+            List<Post> posts = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PostImportDTO item = batch.get(i);
+                if (item.getTitle() == null || item.getTitle().isBlank()
+                        || item.getContent() == null || item.getContent().isBlank() || item.getAuthorId() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Faltan title, content o authorId en la posición " + (offset + i) + "; importados: " + offset);
+                }
+                Author author = authors.computeIfAbsent(item.getAuthorId(), id -> authorService.getAuthorEntityById(id)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Author not found: " + id)));
+
+                Post post = new Post();
+                post.setTitle(item.getTitle());
+                post.setContent(item.getContent());
+                post.setAuthor(author);
+                posts.add(post);
+            }
+            postRepository.saveAll(posts);
+            postRepository.flush(); // Los INSERT salen agrupados (hibernate.jdbc.batch_size)
+            List<PostDTOandNameAuthor> dtos = posts.stream().map(this::toDTO).toList();
+            entityManager.clear(); // Memoria constante: no acumulamos entidades entre batches
+            return dtos;
+        });
+
+        // Solo después del commit: el índice y el hint reflejan lo que quedó guardado
+        saved.forEach(post -> {
+            searchIndex.index(post);
+            postReadCache.invalidate(post.getId());
+        });
+        adjustPostCountHint(saved.size());
+        versionStamps.invalidatePosts();
+        authorPostCountHints.invalidateAll(); // Se vuelven a contar en la próxima página de cada autor
+        return saved.size();
+    }
+
     // Actualizar un post
     @Override
+    @Transactional
     public PostDTOandNameAuthor updatePost(Long id, Post postDetails, Authentication authentication) {
         // Obtener el usuario autenticado
         String username = authentication.getName();
@@ -97,6 +350,7 @@ public class PostService implements IPostService{
     private PostDTOandNameAuthor saveUpdatedPost(Post post, Post postDetails) {
         post.setTitle(postDetails.getTitle());
         post.setContent(postDetails.getContent());
+        Long previousAuthorId = post.getAuthor().getId();
 
         // Si el autor se pasa, actualizarlo
         if (postDetails.getAuthor() != null) {
@@ -109,20 +363,112 @@ public class PostService implements IPostService{
         Post updatedPost = postRepository.save(post);
 
         // Retornar el DTO con el título, contenido y nombre del autor
-        return new PostDTOandNameAuthor(updatedPost.getTitle(), updatedPost.getContent(), updatedPost.getAuthor().getUser().getUsername());
+        PostDTOandNameAuthor postDTO = toDTO(updatedPost);
+        Long authorId = updatedPost.getAuthor().getId();
+        versionStamps.invalidatePosts();
+        afterCommit(() -> {
+            searchIndex.index(postDTO);
+            postReadCache.invalidate(postDTO.getId());
+            if (!authorId.equals(previousAuthorId)) { // El post pasa de un feed de autor al otro
+                adjustAuthorPostCountHint(previousAuthorId, -1);
+                adjustAuthorPostCountHint(authorId, 1);
+            }
+        });
+        return postDTO;
     }
 
     // Eliminar un post
 
     @Override
+    @Transactional
     public boolean deletePost(Long id) {
         Post post = postRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
         post.setDeleted(true); // Marcamos el post como eliminado
         postRepository.save(post); // Guardamos el cambio en la base de datos
+        Long authorId = post.getAuthor().getId();
+        versionStamps.invalidatePosts();
+        afterCommit(() -> {
+            adjustPostCountHint(-1);
+            adjustAuthorPostCountHint(authorId, -1);
+            searchIndex.remove(id);
+            postReadCache.invalidate(id);
+        });
 
         return true; // Indicamos que la operación fue exitosa
     }
 
+    PostDTOandNameAuthor toDTO(Post post) {
+        return new PostDTOandNameAuthor(
+                post.getId(),
+                post.getTitle(),
+                post.getContent(),
+                post.getAuthor().getUser().getUsername());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return feedDefaultSize;
+        }
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(size, feedMaxSize);
+    }
+
+    // El cursor es el id del último post devuelto, codificado para que el cliente lo trate como opaco
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    // Devuelve el total aproximado; solo hace COUNT la primera vez o cuando el valor quedó viejo
+    private long getPostCountHint() {
+        long now = System.currentTimeMillis();
+        long current = postCountHint.get();
+        if (current < 0 || now - postCountSeededAt > countRefreshMs) {
+            current = postRepository.countByDeletedFalse();
+            postCountHint.set(current);
+            postCountSeededAt = now;
+        }
+        return current;
+    }
+
+    private void adjustPostCountHint(long delta) {
+        postCountHint.updateAndGet(count -> count < 0 ? count : Math.max(0, count + delta));
+    }
+
+    // Igual que getPostCountHint pero por autor; el COUNT se repite cuando la entrada vence
+    private long getAuthorPostCountHint(Long authorId) {
+        return authorPostCountHints.get(authorId, postRepository::countByAuthorIdAndDeletedFalse);
+    }
+
+    // Solo ajusta autores que ya están en memoria; los demás se cuentan cuando se pidan
+    private void adjustAuthorPostCountHint(Long authorId, long delta) {
+        authorPostCountHints.asMap().computeIfPresent(authorId, (id, count) -> Math.max(0, count + delta));
+    }
+
+    // El índice y el hint solo reflejan lo que quedó guardado: si la transacción vuelve atrás no se tocan
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
 }
@@ -0,0 +1,49 @@
+package com.proyecto.blog.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Tokenizador del índice de búsqueda: minúsculas, sin acentos, corta por todo lo que no sea
+// letra o dígito y descarta palabras vacías en español e inglés
+final class PostTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "de", "la", "el", "en", "y", "a", "los", "las", "del", "se", "un", "una", "por", "con",
+            "no", "su", "para", "es", "al", "lo", "como", "mas", "o", "pero", "sus", "le", "ya", "que",
+            "the", "and", "of", "to", "in", "is", "it", "for", "on", "an", "or", "with", "as", "at", "be");
+
+    private PostTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = normalized.substring(start, i);
+                if (token.length() > 1 && !STOPWORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,171 @@
+package com.proyecto.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.blog.model.RefreshToken;
+import com.proyecto.blog.repository.IRefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Refresh tokens opacos (32 bytes al azar en base64url) guardados en refresh_tokens por su SHA-256.
+// Cada token se canjea una sola vez: al renovar se marca usado y se emite otro. Si vuelve a llegar uno
+// ya usado, alguien tiene una copia (o el cliente reintentó con el viejo): se revocan todas las sesiones
+// del usuario y tiene que volver a hacer login.
+// Los tokens que emitió o leyó esta instancia quedan en memoria (hot set) y la renovación no lee la
+// fila; la marca de usado siempre va a la base, que es la que decide entre instancias.
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Autowired
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    @Value("${security.jwt.refresh.validity-ms:1209600000}")
+    private long validityMs;
+
+    @Value("${security.jwt.refresh.hot-set.max-entries:10000}")
+    private long hotSetMaxEntries;
+
+    @Value("${security.jwt.refresh.prune-interval-ms:3600000}")
+    private long pruneIntervalMs;
+
+    // Lo que hace falta para canjear un token sin leer su fila
+    private record Session(Long userId, Instant expiresAt, boolean used) {
+    }
+
+    private Cache<String, Session> hotSet;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        hotSet = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(validityMs))
+                .maximumSize(hotSetMaxEntries)
+                .build();
+        if (pruneIntervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "refresh-token-prune");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::pruneQuietly, pruneIntervalMs, pruneIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Emite un refresh token nuevo para el usuario; un solo INSERT
+    @Transactional
+    public String issue(Long userId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = URL_ENCODER.encodeToString(secret);
+        String tokenHash = hash(token);
+        Instant expiresAt = Instant.now().plusMillis(validityMs);
+
+        refreshTokenRepository.save(new RefreshToken(tokenHash, userId, expiresAt));
+        hotSet.put(tokenHash, new Session(userId, expiresAt, false));
+        return token;
+    }
+
+    // Canjea el token y devuelve el id del usuario; quien llama emite el siguiente con issue.
+    // La revocación por reuso tiene que quedar confirmada aunque se responda 401
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Long consume(String token) {
+        String tokenHash = hash(token);
+        Session session = hotSet.getIfPresent(tokenHash);
+        if (session == null) {
+            session = refreshTokenRepository.findById(tokenHash)
+                    .map(row -> new Session(row.getUserId(), row.getExpiresAt(), row.isUsed()))
+                    .orElseThrow(RefreshTokenService::invalid);
+        }
+        if (!session.expiresAt().isAfter(Instant.now())) {
+            throw invalid();
+        }
+        if (!session.used() && refreshTokenRepository.markUsed(tokenHash) == 1) {
+            hotSet.put(tokenHash, new Session(session.userId(), session.expiresAt(), true));
+            return session.userId();
+        }
+
+        // No se pudo canjear: o ya se había usado (acá o en otra instancia) o se revocó. La base decide
+        boolean reused = refreshTokenRepository.findById(tokenHash).map(RefreshToken::isUsed).orElse(false);
+        if (reused) {
+            log.warn("Refresh token reutilizado: se revocan las sesiones del usuario {}", session.userId());
+            revokeAll(session.userId());
+        } else {
+            hotSet.invalidate(tokenHash);
+        }
+        throw invalid();
+    }
+
+    // Cierra la sesión de este token (logout); un token desconocido no hace nada
+    @Transactional
+    public void revoke(String token) {
+        String tokenHash = hash(token);
+        hotSet.invalidate(tokenHash);
+        refreshTokenRepository.deleteById(tokenHash);
+    }
+
+    // Cierra todas las sesiones del usuario (baja, cambio de contraseña, reuso de un token)
+    @Transactional
+    public int revokeAll(Long userId) {
+        hotSet.asMap().values().removeIf(session -> session.userId().equals(userId));
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    // Borra los tokens vencidos; corre solo cada prune-interval-ms
+    public int prune() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.debug("Refresh tokens vencidos borrados: {}", deleted);
+        return deleted;
+    }
+
+    private void pruneQuietly() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron borrar los refresh tokens vencidos", e);
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido o vencido");
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return URL_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Todo JRE trae SHA-256
+        }
+    }
+}
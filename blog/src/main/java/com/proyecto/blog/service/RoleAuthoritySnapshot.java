@@ -0,0 +1,276 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.model.AuthorityOrdinal;
+import com.proyecto.blog.model.Permission;
+import com.proyecto.blog.model.Role;
+import com.proyecto.blog.repository.IAuthorityOrdinalRepository;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import com.proyecto.blog.utils.AuthorityCatalog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Foto inmutable de rol -> authorities expandidas (ROLE_x + permisos).
+// Los roles y permisos cambian muy poco, así que el login resuelve las authorities en memoria
+// y la foto se reconstruye completa cada vez que RoleService o PermissionService modifican algo.
+// Junto con la foto se arma el catálogo del claim compacto del JWT, con las mismas instancias; al
+// cargar, los roles y permisos que todavía no tienen bit en authority_ordinals reciben el siguiente.
+// Los cambios hechos en otra instancia llegan con la recarga periódica (refresh-interval-ms) o antes,
+// si aparece un token con una versión de catálogo que esta instancia todavía no conoce.
+// La carga se lee siempre del primario: justo después de un cambio una réplica atrasada devolvería
+// la foto vieja, y quedaría así hasta la próxima modificación.
+@Component
+public class RoleAuthoritySnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleAuthoritySnapshot.class);
+
+    // Recargas por versión desconocida: como mucho una por segundo, aunque lleguen muchos tokens juntos
+    private static final long MIN_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Dos instancias pueden asignar el mismo bit a la vez: la que pierde choca con la clave única y relee
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    // Authorities ya expandidas de un rol
+    public record RoleAuthorities(String roleName, GrantedAuthority roleAuthority, List<GrantedAuthority> permissions) {
+    }
+
+    private record Snapshot(Map<Long, RoleAuthorities> rolesById, AuthorityCatalog catalog) {
+    }
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IPermissionRepository permissionRepository;
+
+    @Autowired
+    private IAuthorityOrdinalRepository authorityOrdinalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${security.jwt.authorities.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    // Transacción propia y no readOnly (ReadWriteRoutingDataSource la manda al primario). REQUIRES_NEW
+    // porque rebuildAfterCommit corre en el afterCommit de otra transacción, que ya no admite participantes
+    private TransactionTemplate primaryRead;
+
+    // Se reemplaza de forma atómica; los lectores siempre ven una foto completa
+    private volatile Snapshot snapshot;
+    private volatile long versionReloadedAtNanos = System.nanoTime() - MIN_RELOAD_INTERVAL_NANOS;
+
+    // Lock en lugar de synchronized: la carga consulta la base y, con hilos virtuales, bloquear
+    // dentro de un synchronized deja el hilo fijado (pinned) a su carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (refreshIntervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "authority-catalog-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::rebuildQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Devuelve las authorities de los roles indicados: primero los ROLE_x y luego los permisos, sin repetir
+    public List<GrantedAuthority> expand(Collection<Long> roleIds) {
+        Map<Long, RoleAuthorities> snapshot = current().rolesById();
+
+        Set<GrantedAuthority> roleAuthorities = new LinkedHashSet<>();
+        Set<GrantedAuthority> permissionAuthorities = new LinkedHashSet<>();
+        for (Long roleId : roleIds) {
+            RoleAuthorities role = snapshot.get(roleId);
+            if (role != null) { // Roles eliminados no están en la foto
+                roleAuthorities.add(role.roleAuthority());
+                permissionAuthorities.addAll(role.permissions());
+            }
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(roleAuthorities);
+        authorities.addAll(permissionAuthorities);
+        return List.copyOf(authorities);
+    }
+
+    public AuthorityCatalog catalog() {
+        return current().catalog();
+    }
+
+    // Catálogo que conoce al menos la versión pedida. Si el token viene de una instancia que ya asignó
+    // bits que esta no conoce, se recarga antes de decodificar en lugar de descartar esos bits
+    public AuthorityCatalog catalog(long minVersion) {
+        AuthorityCatalog catalog = current().catalog();
+        if (catalog.version() >= minVersion) {
+            return catalog;
+        }
+        loadLock.lock();
+        try {
+            // Otro hilo pudo haber recargado mientras esperábamos el lock
+            long now = System.nanoTime();
+            if (snapshot.catalog().version() < minVersion && now - versionReloadedAtNanos >= MIN_RELOAD_INTERVAL_NANOS) {
+                versionReloadedAtNanos = now;
+                reload();
+            }
+            return snapshot.catalog();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Reconstruye la foto; si hay una transacción activa espera al commit para leer los datos nuevos
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        loadLock.lock();
+        try {
+            reload();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo recargar roles y permisos; se sigue usando la foto anterior", e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Con el lock tomado
+    private void reload() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                snapshot = primaryRead.execute(status -> load());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_LOAD_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Otra instancia asignó bits de authorities al mismo tiempo; se vuelve a leer");
+            }
+        }
+    }
+
+    private Snapshot load() {
+        // Sin la cache de segundo nivel: los cambios de otra instancia no la invalidan en esta
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.REFRESH);
+
+        List<Role> roles = roleRepository.findByDeletedFalse();
+        List<String> roleNames = roles.stream()
+                .map(role -> "ROLE_".concat(role.getRole()))
+                .distinct()
+                .sorted()
+                .toList();
+        List<String> permissionNames = permissionRepository.findByDeletedFalse().stream()
+                .map(Permission::getPermissionName)
+                .sorted()
+                .toList();
+        Map<String, Integer> bits = assignBits(Stream.concat(roleNames.stream(), permissionNames.stream()).toList());
+        AuthorityCatalog catalog = new AuthorityCatalog(bits.size(), bits, roleNames, permissionNames);
+
+        Map<Long, RoleAuthorities> rolesById = new HashMap<>();
+        for (Role role : roles) {
+            List<GrantedAuthority> permissions = role.getPermissionsList().stream()
+                    .filter(permission -> !permission.isDeleted())
+                    .sorted(Comparator.comparing(Permission::getPermissionName))
+                    .map(permission -> catalog.authority(permission.getPermissionName()))
+                    .filter(Objects::nonNull) // Dado de baja entre las dos consultas
+                    .toList();
+
+            GrantedAuthority roleAuthority = catalog.authority("ROLE_".concat(role.getRole()));
+            rolesById.put(role.getId(), new RoleAuthorities(role.getRole(), roleAuthority, permissions));
+        }
+        return new Snapshot(Map.copyOf(rolesById), catalog);
+    }
+
+    // Nombre -> bit de todas las authorities que alguna vez tuvieron uno, más las nuevas. Los bits son
+    // consecutivos desde 0, así que la cantidad asignada es también la versión del catálogo
+    private Map<String, Integer> assignBits(List<String> names) {
+        Map<String, Integer> bits = new HashMap<>();
+        for (AuthorityOrdinal ordinal : authorityOrdinalRepository.findAll()) {
+            bits.put(ordinal.getAuthority(), ordinal.getBitIndex());
+        }
+        int next = bits.size();
+        for (String name : names) {
+            if (!bits.containsKey(name)) {
+                authorityOrdinalRepository.insert(name, next);
+                bits.put(name, next++);
+            }
+        }
+        return bits;
+    }
+}
@@ -15,9 +15,14 @@ public class RoleService implements IRoleService{
     @Autowired
     private IRoleRepository roleRepository;
 
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+
     @Override
     public Role createRole(Role role) {
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        authoritySnapshot.rebuildAfterCommit();
+        return savedRole;
     }
 
     @Override
@@ -35,7 +40,9 @@ public class RoleService implements IRoleService{
         return roleRepository.findByIdAndDeletedFalse(id).map(role -> {
             role.setRole(roleDetails.getRole()); // Actualiza el nombre del rol
             role.setPermissionsList(roleDetails.getPermissionsList()); // Actualiza los permisos del rol
-            return roleRepository.save(role);
+            Role savedRole = roleRepository.save(role);
+            authoritySnapshot.rebuildAfterCommit();
+            return savedRole;
         }).orElseThrow(() -> new EntityNotFoundException("Role not found with id: " + id));
     }
 
@@ -47,6 +54,7 @@ public class RoleService implements IRoleService{
 
         role.setDeleted(true); // Marcamos el role como eliminado
         roleRepository.save(role); // Guardamos el cambio en la base de datos
+        authoritySnapshot.rebuildAfterCommit();
 
         return true; // Indicamos que la operación fue exitosa
     }
@@ -0,0 +1,101 @@
+package com.proyecto.blog.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Contador por clave en ventana deslizante, sin locks y con memoria fija.
+// Las claves se reparten en "stripes" por hash (dos hashes, al estilo count-min, para que una
+// colisión no bloquee a un inocente) y cada stripe tiene un anillo de buckets de tiempo.
+// Cada celda es un long empaquetado: 32 bits de época del bucket + 32 bits de contador,
+// así que incrementar y "reiniciar" un bucket viejo es un único CAS.
+class SlidingWindowCounter {
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray cells;
+    private final int stripeMask;
+    private final int buckets;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    SlidingWindowCounter(int stripes, int buckets, long bucketMillis, LongSupplier clock) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("La cantidad de stripes debe ser potencia de 2");
+        }
+        this.cells = new AtomicLongArray(stripes * buckets);
+        this.stripeMask = stripes - 1;
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.clock = clock;
+    }
+
+    // Cuenta un intento si la clave todavía no alcanzó el límite en la ventana
+    boolean tryAcquire(String key, int limit) {
+        long epoch = currentEpoch();
+        int hash = key.hashCode();
+        int first = stripe(mix(hash, 0x9E3779B9));
+        int second = stripe(mix(hash, 0x85EBCA6B));
+
+        if (Math.min(sum(first, epoch), sum(second, epoch)) >= limit) {
+            return false;
+        }
+        increment(first, epoch);
+        if (second != first) {
+            increment(second, epoch);
+        }
+        return true;
+    }
+
+    // Estimación (por exceso) de los intentos de la clave en la ventana actual
+    long estimate(String key) {
+        long epoch = currentEpoch();
+        int hash = key.hashCode();
+        return Math.min(sum(stripe(mix(hash, 0x9E3779B9)), epoch), sum(stripe(mix(hash, 0x85EBCA6B)), epoch));
+    }
+
+    long windowMillis() {
+        return buckets * bucketMillis;
+    }
+
+    private long currentEpoch() {
+        return (clock.getAsLong() / bucketMillis) & COUNT_MASK;
+    }
+
+    private int stripe(int hash) {
+        return hash & stripeMask;
+    }
+
+    private long sum(int stripe, long epoch) {
+        long total = 0;
+        int base = stripe * buckets;
+        for (int i = 0; i < buckets; i++) {
+            long cell = cells.get(base + i);
+            long age = (epoch - (cell >>> 32)) & COUNT_MASK;
+            if (age < buckets) {
+                total += cell & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private void increment(int stripe, long epoch) {
+        int index = stripe * buckets + (int) (epoch % buckets);
+        while (true) {
+            long cell = cells.get(index);
+            long updated = (cell >>> 32) == epoch
+                    ? cell + 1                 // Mismo bucket: sumamos uno
+                    : (epoch << 32) | 1L;      // Bucket de una vuelta anterior del anillo: lo reiniciamos
+            if (cells.compareAndSet(index, cell, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static int mix(int hash, int seed) {
+        int h = hash * seed;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+        return h;
+    }
+}
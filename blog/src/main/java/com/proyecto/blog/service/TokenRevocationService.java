@@ -0,0 +1,141 @@
+package com.proyecto.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.blog.model.RevokedToken;
+import com.proyecto.blog.repository.IRevokedTokenRepository;
+import com.proyecto.blog.utils.BloomFilter;
+import com.proyecto.blog.utils.TokenRevocations;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// JWT revocados por jti (logout). El filtro consulta isRevoked en cada request, así que el caso común
+// (token no revocado) lo contesta un filtro de Bloom en memoria sin tocar la base; solo cuando el filtro
+// dice "puede estar" se busca el jti en revoked_tokens, y esa respuesta queda en memoria hasta la
+// próxima recarga. Cada refresh-interval-ms se arma el filtro de nuevo desde la tabla (así llegan las
+// revocaciones de otras instancias) y se borran las filas de tokens ya vencidos. Las revocaciones
+// de esta instancia se agregan al filtro en el momento.
+// Todo se lee del primario: una réplica atrasada dejaría afuera un jti recién revocado y el token
+// volvería a valer hasta la próxima recarga.
+@Service
+public class TokenRevocationService implements TokenRevocations {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private IRevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${security.jwt.revocation.refresh-interval-ms:10000}")
+    private long refreshIntervalMs;
+
+    @Value("${security.jwt.revocation.expected-entries:10000}")
+    private int expectedEntries;
+
+    @Value("${security.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter = BloomFilter.create(1, 0.01);
+    // Respuestas de la base para los jti en los que el filtro dio positivo; se descartan en cada recarga
+    private Cache<String, Boolean> exactAnswers;
+    private final ReentrantLock filterLock = new ReentrantLock();
+    // Transacción propia y no readOnly, así ReadWriteRoutingDataSource la manda al primario
+    private TransactionTemplate primaryRead;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        exactAnswers = Caffeine.newBuilder()
+                .maximumSize(expectedEntries)
+                .build();
+        refresh();
+        if (refreshIntervalMs > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwt-revocation-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return exactAnswers.get(jti, key -> primaryRead.execute(status -> revokedTokenRepository.existsById(key)));
+    }
+
+    // Revoca el token hasta que vence; después la fila se borra en una recarga
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return; // Sin jti no se puede revocar y un token vencido ya no pasa la verificación
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+
+        // Después del commit y con el lock: una recarga en curso o ya leyó esta fila o recibe el jti
+        filterLock.lock();
+        try {
+            filter.add(jti);
+            exactAnswers.put(jti, true);
+        } finally {
+            filterLock.unlock();
+        }
+        log.debug("Token revocado: jti={}", jti);
+    }
+
+    // Borra las filas vencidas y arma el filtro con las que quedan
+    public void refresh() {
+        filterLock.lock();
+        try {
+            Instant now = Instant.now();
+            List<String> jtis = primaryRead.execute(status -> {
+                revokedTokenRepository.deleteExpired(now);
+                return revokedTokenRepository.findJtisExpiringAfter(now);
+            });
+
+            // Con el doble de lugar que lo que hay, para las revocaciones que lleguen hasta la próxima recarga
+            BloomFilter next = BloomFilter.create(Math.max(expectedEntries, 2 * jtis.size()), falsePositiveRate);
+            jtis.forEach(next::add);
+            filter = next;
+            exactAnswers.invalidateAll();
+        } finally {
+            filterLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo recargar la lista de tokens revocados; se sigue usando la anterior", e);
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.proyecto.blog.service;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.proyecto.blog.dto.AuthLoginRequestDTO;
 import com.proyecto.blog.dto.AuthResponseDTO;
+import com.proyecto.blog.dto.UserCredentialsDTO;
 import com.proyecto.blog.model.Role;
 import com.proyecto.blog.model.UserSec;
 import com.proyecto.blog.repository.IUserSecRepository;
 import com.proyecto.blog.utils.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,8 +24,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -28,12 +33,29 @@ import java.util.List;
 @Service
 public class UserDetailsServiceImp implements UserDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImp.class);
+
     @Autowired
     private IUserSecRepository userRepo;
 
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+
+    @Autowired
+    private LoginHashingService loginHashingService;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
@@ -43,67 +65,99 @@ public class UserDetailsServiceImp implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Obtengo un UserSec y debo devolverlo en formato UserDetails
-        // Obtengo al usuario de nuestra BD
-        UserSec userSec = userRepo.findUserEntityByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("El usuario " + username + " no fue encontrado"));
-
-        // Creo una lista para los permisos
-        List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
-
-        // Obtengo los roles y los convierto en SimpleGrantedAuthority
-        userSec.getRolesList().forEach(role ->
-                authorityList.add(new SimpleGrantedAuthority("ROLE_".concat(role.getRole()))));
+        return toUserDetails(findCredentials(username));
+    }
 
-        // Agrego los permisos de los roles
-        userSec.getRolesList().stream()
-                .flatMap(role -> role.getPermissionsList().stream())  // Recorro los permisos de los roles
-                .forEach(permission ->
-                        authorityList.add(new SimpleGrantedAuthority(permission.getPermissionName())));
+    private UserCredentialsDTO findCredentials(String username) {
+        // Obtengo las credenciales del usuario de nuestra BD (sin cargar roles ni permisos)
+        return userRepo.findCredentialsByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("El usuario " + username + " no fue encontrado"));
+    }
 
-        System.out.println("Authorities: " + authorityList);
-        System.out.println("Comparando contra el hash:");
-        System.out.println(passwordEncoder.matches("admin123", "$2a$10$Dow1U3jE5IYiLxqrIBuEQuyNdKJeMVpE5Vf9BoGvJWDsmFY.gK/zu"));
+    private UserDetails toUserDetails(UserCredentialsDTO userSec) {
+        // Expando los roles del usuario a ROLE_x + permisos usando la foto en memoria
+        List<GrantedAuthority> authorityList = authoritySnapshot.expand(userRepo.findRoleIdsByUserId(userSec.id()));
 
+        log.debug("Authorities de {}: {}", userSec.username(), authorityList);
 
         // Retorno el usuario en formato Spring Security con los datos de nuestro userSec
-        return new User(userSec.getUsername(),
-                userSec.getPassword(),
-                userSec.isEnabled(),
-                userSec.isAccountNotExpired(),
-                userSec.isCredentialNotExpired(),
-                userSec.isAccountNotLocked(),
+        return new User(userSec.username(),
+                userSec.password(),
+                userSec.enabled(),
+                userSec.accountNotExpired(),
+                userSec.credentialNotExpired(),
+                userSec.accountNotLocked(),
                 authorityList);
     }
 
-    public AuthResponseDTO loginUser(AuthLoginRequestDTO authLoginRequest) {
+    public AuthResponseDTO loginUser(AuthLoginRequestDTO authLoginRequest, String clientIp) {
         // Recupero el nombre de usuario y contraseña
         String username = authLoginRequest.username();
         String password = authLoginRequest.password();
 
-        Authentication authentication = this.authenticate(username, password);
+        // Corto los intentos abusivos antes de consultar la base o calcular BCrypt
+        loginAttemptThrottle.checkAttempt(username, clientIp);
+
+        UserCredentialsDTO credentials = this.findCredentials(username);
+        Authentication authentication = this.authenticate(username, toUserDetails(credentials), password);
 
         // Si todo está ok, se guarda la autenticación en el contexto de seguridad
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Genero el token JWT
+        // Genero el token JWT y el refresh token para renovarlo sin volver a enviar la contraseña
         String accessToken = jwtUtils.createToken(authentication);
+        String refreshToken = refreshTokenService.issue(credentials.id());
 
         // Retorno la respuesta de autenticación
-        return new AuthResponseDTO(username, "Login OK", accessToken, true);
+        return new AuthResponseDTO(username, "Login OK", accessToken, refreshToken, true);
+    }
+
+    // Renueva la sesión con el refresh token, sin BCrypt: se canjea el token y se vuelven a leer las
+    // credenciales y los roles (un cambio de roles se ve en la próxima renovación)
+    public AuthResponseDTO refreshSession(String refreshToken) {
+        Long userId = refreshTokenService.consume(refreshToken);
+
+        UserCredentialsDTO credentials = userRepo.findCredentialsById(userId)
+                .filter(user -> user.enabled() && user.accountNotLocked()
+                        && user.accountNotExpired() && user.credentialNotExpired())
+                .orElse(null);
+        if (credentials == null) {
+            // Usuario dado de baja, bloqueado, vencido o con la contraseña vencida: no le quedan sesiones para renovar
+            refreshTokenService.revokeAll(userId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido o vencido");
+        }
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(credentials.username(), null,
+                authoritySnapshot.expand(userRepo.findRoleIdsByUserId(userId)));
+        String accessToken = jwtUtils.createToken(authentication);
+        String nextRefreshToken = refreshTokenService.issue(userId);
+
+        return new AuthResponseDTO(credentials.username(), "Refresh OK", accessToken, nextRefreshToken, true);
+    }
+
+    // Logout: el JWT queda revocado hasta que vence y, si viene, el refresh token deja de servir
+    public void logoutUser(String accessToken, String refreshToken) {
+        DecodedJWT decodedJWT = jwtUtils.validateToken(accessToken);
+        tokenRevocationService.revoke(decodedJWT.getId(), decodedJWT.getExpiresAtAsInstant());
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
     public Authentication authenticate(String username, String password) {
         // Busco el usuario
-        UserDetails userDetails = this.loadUserByUsername(username);
+        return this.authenticate(username, this.loadUserByUsername(username), password);
+    }
 
+    private Authentication authenticate(String username, UserDetails userDetails, String password) {
         // Verifico si el usuario no existe
         if (userDetails == null) {
             throw new BadCredentialsException("Invalid username or password");
         }
 
-        // Verifico si la contraseña es correcta
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+        // Verifico si la contraseña es correcta (BCrypt corre en el pool de login, no en el hilo de Tomcat)
+        if (!loginHashingService.matches(password, userDetails.getPassword())) {
             throw new BadCredentialsException("Invalid username or password");
         }
 
@@ -127,6 +181,7 @@ public class UserDetailsServiceImp implements UserDetailsService {
             userSec.setRolesList(new HashSet<>(Collections.singletonList(role)));
 
             userRepo.save(userSec);
+            authoritySnapshot.rebuildAfterCommit(); // Se creó un rol nuevo en cascada
         }
 
         return userSec;
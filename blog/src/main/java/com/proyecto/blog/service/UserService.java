@@ -9,10 +9,14 @@ import com.proyecto.blog.model.UserSec;
 import com.proyecto.blog.repository.IAuthorRepository;
 import com.proyecto.blog.repository.IRoleRepository;
 import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,6 +36,16 @@ public class UserService implements IUserSecService {
     @Autowired
     private PasswordEncoder passwordEncoder; // Inyección del BCryptPasswordEncoder
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private VersionStampCache versionStamps;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
     public UserSec registerUser(UserDTO userDTO, boolean isAuthor, String authorName, boolean isAdminRequest) {
 
         // Si el registro NO es hecho por un ADMIN, restringimos los roles permitidos
@@ -70,6 +84,7 @@ public class UserService implements IUserSecService {
             author.setName(authorName);  // Guardamos el nombre del autor
             iAuthorRepository.save(author);
             savedUser.setAuthor(author); // Establecer la relación en el UserSec
+            versionStamps.invalidateAuthors();
         }
 
         return savedUser;
@@ -77,27 +92,36 @@ public class UserService implements IUserSecService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserSec> getUserSecById(Long id) {
         return userSecRepository.findByIdAndDeletedFalse(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserSec> getAllUserSecs() {
         return userSecRepository.findByDeletedFalse();
     }
 
     @Override
+    @Transactional
     public UserSec updateUserSec(Long id, UserDTO userDTO, boolean isAuthor, String authorName) {
         UserSec existingUser = userSecRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
         // Actualizar solo los campos que se envían
-        if (userDTO.getUsername() != null) {
+        if (userDTO.getUsername() != null && !userDTO.getUsername().equals(existingUser.getUsername())) {
             existingUser.setUsername(userDTO.getUsername());
+            if (existingUser.getAuthor() != null) {
+                // Los posts y el autor muestran el username pero users no tiene versión: se la subimos
+                // al autor para que cambien los ETag de /api/posts y /api/authors
+                entityManager.lock(existingUser.getAuthor(), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            }
         }
 
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             existingUser.setPassword(this.encriptPassword(userDTO.getPassword()));
+            refreshTokenService.revokeAll(id); // Con la contraseña nueva no se renuevan las sesiones anteriores
         }
 
         // Asignar roles desde el DTO si vienen
@@ -131,22 +155,34 @@ public class UserService implements IUserSecService {
         } else {
             existingUser.setAuthor(null); // Si ya no es autor, eliminamos la relación
         }
+        versionStamps.invalidateAuthors();
 
         return userSecRepository.save(existingUser);
     }
 
 
     @Override
+    @Transactional
     public boolean deleteUserSec(Long id) {
         UserSec userSec = userSecRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("UserSec not found with id: " + id));
 
         userSec.setDeleted(true);
         userSecRepository.save(userSec);
+        refreshTokenService.revokeAll(id);
 
         return true;
     }
 
+    @Override
+    @Transactional
+    public int revokeSessions(Long id) {
+        userSecRepository.findByIdAndDeletedFalse(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        return refreshTokenService.revokeAll(id);
+    }
+
     @Override
     public String encriptPassword(String password) {
         return passwordEncoder.encode(password);
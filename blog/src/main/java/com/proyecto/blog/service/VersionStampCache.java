@@ -0,0 +1,76 @@
+package com.proyecto.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.blog.dto.VersionStampDTO;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Validadores de las listas completas (GET /api/posts y GET /api/authors). Calcularlos recorre toda
+// la tabla, así que quedan en memoria y se descartan después de cada commit que toca posts o autores;
+// mientras tanto las revalidaciones (304) no consultan la base. Se leen sin transacción, o sea del
+// primario: una réplica atrasada no deja guardado un validador viejo. Lo que escribe otra instancia
+// de la app se ve a lo sumo ttl-ms más tarde.
+@Component
+public class VersionStampCache {
+
+    private static final String POSTS = "posts";
+    private static final String AUTHORS = "authors";
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Value("${blog.version-stamps.ttl-ms:1000}")
+    private long ttlMs;
+
+    private Cache<String, VersionStampDTO> stamps;
+
+    @PostConstruct
+    void init() {
+        stamps = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public VersionStampDTO posts() {
+        return stamps.get(POSTS, key -> postRepository.findVersionStamp());
+    }
+
+    public VersionStampDTO authors() {
+        return stamps.get(AUTHORS, key -> authorRepository.findVersionStamp());
+    }
+
+    // Si hay una transacción en curso se descarta recién después del commit: antes, otro request
+    // volvería a cargar el valor viejo; si la transacción vuelve atrás no hace falta descartar nada
+    public void invalidatePosts() {
+        afterCommit(() -> stamps.invalidate(POSTS));
+    }
+
+    public void invalidateAuthors() {
+        afterCommit(() -> stamps.invalidate(AUTHORS));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
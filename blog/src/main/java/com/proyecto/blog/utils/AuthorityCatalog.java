@@ -0,0 +1,155 @@
+package com.proyecto.blog.utils;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Catálogo de roles y permisos para el claim compacto del JWT: "<versión>.<bits>", un bitset en
+// base64url donde cada authority ocupa su bit de authority_ordinals. Los bits se asignan de a uno desde 0
+// y nunca cambian ni se reutilizan, así el bitset queda denso y un bit es siempre el mismo nombre en
+// cualquier instancia: un permiso renombrado recibe un bit nuevo y los tokens anteriores no ganan el
+// nombre nuevo. La versión es la cantidad de bits asignados al emitir el token; si es mayor que la del
+// catálogo local, quien lo lee recarga el catálogo antes (ver RoleAuthoritySnapshot).
+// Hay una sola instancia de SimpleGrantedAuthority por entrada y las listas decodificadas son
+// inmutables y compartidas por todos los tokens con la misma combinación.
+public final class AuthorityCatalog {
+
+    // Combinaciones distintas de roles/permisos que se recuerdan ya decodificadas
+    private static final int MAX_DECODED = 4096;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // bits: claim compacto; unlisted: authorities que no están en el catálogo (viajan por nombre)
+    public record Encoded(String bits, List<String> unlisted) {
+    }
+
+    private final long version;
+    // Solo roles y permisos vigentes; un bit de una authority dada de baja o renombrada no otorga nada
+    private final Map<Integer, GrantedAuthority> byBit = new HashMap<>();
+    private final Map<String, Integer> bitsByName = new HashMap<>();
+    private final BitSet roleBits = new BitSet();
+    private final Map<String, GrantedAuthority> byName = new HashMap<>();
+    private final Map<String, List<GrantedAuthority>> decoded = new ConcurrentHashMap<>();
+
+    // bits: nombre -> bit de todas las authorities con bit asignado. roles ("ROLE_ADMIN") y permissions:
+    // los nombres vigentes; los que todavía no tienen bit viajan por nombre
+    public AuthorityCatalog(long version, Map<String, Integer> bits, Collection<String> roles, Collection<String> permissions) {
+        this.version = version;
+        Set<String> roleNames = new HashSet<>(roles);
+        for (String name : roleNames) {
+            register(name, bits.get(name), true);
+        }
+        for (String name : permissions) {
+            if (!roleNames.contains(name)) {
+                register(name, bits.get(name), false);
+            }
+        }
+    }
+
+    public static AuthorityCatalog empty() {
+        return new AuthorityCatalog(0, Map.of(), List.of(), List.of());
+    }
+
+    // Versión con la que se emitió el claim, para saber si este catálogo alcanza para leerlo
+    public static long versionOf(String bits) {
+        int dot = bits.indexOf('.');
+        try {
+            return Long.parseLong(dot < 0 ? bits : bits.substring(0, dot));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Formato de authorities no soportado");
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    // La instancia compartida de un rol o permiso vigente, o null si no existe
+    public GrantedAuthority authority(String name) {
+        return byName.get(name);
+    }
+
+    public Encoded encode(Collection<? extends GrantedAuthority> authorities) {
+        BitSet bits = new BitSet();
+        List<String> unlisted = new ArrayList<>();
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            Integer bit = bitsByName.get(name);
+            if (bit != null) {
+                bits.set(bit);
+            } else {
+                unlisted.add(name);
+            }
+        }
+        return new Encoded(version + "." + ENCODER.encodeToString(bits.toByteArray()), List.copyOf(unlisted));
+    }
+
+    // Roles primero y después permisos, cada grupo en orden de bit. Un bit sin entrada (authority dada de
+    // baja o renombrada, o asignada después de la versión de este catálogo) no otorga nada
+    public List<GrantedAuthority> decode(String bits) {
+        List<GrantedAuthority> cached = decoded.get(bits);
+        if (cached != null) {
+            return cached;
+        }
+        String[] parts = bits.split("\\.", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Formato de authorities no soportado");
+        }
+        versionOf(parts[0]);
+        BitSet set = BitSet.valueOf(DECODER.decode(parts[1]));
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        List<GrantedAuthority> permissions = new ArrayList<>();
+        for (int bit = set.nextSetBit(0); bit >= 0; bit = set.nextSetBit(bit + 1)) {
+            GrantedAuthority authority = byBit.get(bit);
+            if (authority != null) {
+                (roleBits.get(bit) ? authorities : permissions).add(authority);
+            }
+        }
+        authorities.addAll(permissions);
+
+        List<GrantedAuthority> result = List.copyOf(authorities);
+        if (decoded.size() < MAX_DECODED) {
+            decoded.putIfAbsent(bits, result);
+        }
+        return result;
+    }
+
+    // Formato anterior (nombres separados por coma); reutiliza las instancias del catálogo
+    public List<GrantedAuthority> fromNames(String commaSeparated) {
+        if (commaSeparated == null || commaSeparated.isBlank()) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (String name : commaSeparated.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                GrantedAuthority known = byName.get(trimmed);
+                authorities.add(known != null ? known : new SimpleGrantedAuthority(trimmed));
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    private void register(String name, Integer bit, boolean role) {
+        GrantedAuthority authority = byName.computeIfAbsent(name, SimpleGrantedAuthority::new);
+        if (bit != null) {
+            byBit.put(bit, authority);
+            bitsByName.put(name, bit);
+            if (role) {
+                roleBits.set(bit);
+            }
+        }
+    }
+}
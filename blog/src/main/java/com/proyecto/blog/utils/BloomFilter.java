@@ -0,0 +1,86 @@
+package com.proyecto.blog.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom de strings: si dice que no, seguro no está; si dice que puede estar, hay que
+// confirmarlo. El tamaño no cambia después de crearlo (para crecer se arma otro) y add es thread-safe,
+// así se pueden agregar elementos mientras otros hilos consultan.
+public final class BloomFilter {
+
+    private static final int MIN_BITS = 64;
+    private static final int MAX_BITS = 1 << 30;
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final int mask;
+    private final int hashes;
+
+    private BloomFilter(int bits, int hashes) {
+        this.words = new AtomicLongArray(bits >>> 6);
+        this.mask = bits - 1;
+        this.hashes = hashes;
+    }
+
+    // Bits para la tasa de falsos positivos pedida, redondeados a potencia de 2 (el índice sale con una
+    // máscara en lugar de un módulo); con los bits de más la tasa real queda por debajo de la pedida
+    public static BloomFilter create(int expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + falsePositiveRate);
+        }
+        int entries = Math.max(1, expectedEntries);
+        double optimalBits = -entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = MIN_BITS;
+        while (bits < optimalBits && bits < MAX_BITS) {
+            bits <<= 1;
+        }
+        int hashes = (int) Math.round((double) bits / entries * Math.log(2));
+        return new BloomFilter((int) bits, Math.min(MAX_HASHES, Math.max(1, hashes)));
+    }
+
+    public void add(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1; // Impar: con un tamaño potencia de 2 recorre posiciones distintas
+        for (int i = 0; i < hashes; i++) {
+            int index = (h1 + i * h2) & mask;
+            long bit = 1L << index;
+            words.getAndAccumulate(index >>> 6, bit, (word, b) -> word | b);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int index = (h1 + i * h2) & mask;
+            if ((words.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int bitSize() {
+        return mask + 1;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    // FNV-1a de 64 bits sobre los chars, con el mezclado final de MurmurHash3 para repartir los bits
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
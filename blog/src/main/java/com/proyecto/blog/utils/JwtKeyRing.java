@@ -0,0 +1,214 @@
+package com.proyecto.blog.utils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.proyecto.blog.model.JwtPrivateKey;
+import com.proyecto.blog.model.JwtSigningKey;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Claves vigentes para firmar y verificar JWT (RS256 o ES256). La más nueva firma; todas verifican,
+// cada una con su JWTVerifier armado una sola vez: al recargar se reutilizan los de los kid que ya
+// estaban. Inmutable: JwtSigningKeyService reemplaza el anillo completo cuando cambian las claves.
+public final class JwtKeyRing {
+
+    // Verificar RS256 es mucho más barato que ES256 en Java 17 (la firma se paga solo en el login)
+    public static final String RS256 = "RS256";
+    public static final String ES256 = "ES256";
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // Par recién generado: la pública y la privada se guardan en tablas distintas
+    public record GeneratedKey(JwtSigningKey key, JwtPrivateKey privateKey) {
+    }
+
+    private final String signingKid;
+    private final Algorithm signingAlgorithm;
+    private final Map<String, JWTVerifier> verifiers;
+    private final List<Map<String, Object>> jwks;
+
+    private JwtKeyRing(String signingKid, Algorithm signingAlgorithm,
+                       Map<String, JWTVerifier> verifiers, List<Map<String, Object>> jwks) {
+        this.signingKid = signingKid;
+        this.signingAlgorithm = signingAlgorithm;
+        this.verifiers = verifiers;
+        this.jwks = jwks;
+    }
+
+    public static JwtKeyRing empty() {
+        return new JwtKeyRing(null, null, Map.of(), List.of());
+    }
+
+    // keys (solo públicas) de la más nueva a la más vieja. signingKey es la privada de la más nueva
+    // (ver newestKid): con null el anillo solo verifica, salvo que el anterior ya firmara con esa misma clave
+    public static JwtKeyRing build(List<JwtSigningKey> keys, String issuer, JwtPrivateKey signingKey, JwtKeyRing previous) {
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        JwtSigningKey newest = null;
+        for (JwtSigningKey key : keys) {
+            if (!supported(key)) {
+                continue; // Algoritmo que esta versión no conoce
+            }
+            newest = newest == null ? key : newest;
+            PublicKey publicKey = publicKey(key);
+            JWTVerifier verifier = previous.verifiers.get(key.getKid());
+            if (verifier == null) {
+                verifier = JWT.require(algorithm(key.getAlgorithm(), publicKey, null)).withIssuer(issuer).build();
+            }
+            verifiers.put(key.getKid(), verifier);
+            jwks.add(jwk(key.getKid(), key.getAlgorithm(), publicKey));
+        }
+
+        String signingKid = null;
+        Algorithm signingAlgorithm = null;
+        if (newest != null && newest.getKid().equals(previous.signingKid)) {
+            signingKid = previous.signingKid;
+            signingAlgorithm = previous.signingAlgorithm;
+        } else if (newest != null && signingKey != null && newest.getKid().equals(signingKey.getKid())) {
+            signingKid = newest.getKid();
+            signingAlgorithm = algorithm(newest.getAlgorithm(), publicKey(newest), privateKey(signingKey, keyType(newest)));
+        }
+        return new JwtKeyRing(signingKid, signingAlgorithm, Map.copyOf(verifiers), List.copyOf(jwks));
+    }
+
+    // Un anillo que firma con un par recién generado (benchmarks y tests)
+    public static JwtKeyRing of(GeneratedKey generated, String issuer) {
+        return build(List.of(generated.key()), issuer, generated.privateKey(), empty());
+    }
+
+    // La clave que firma entre keys (de la más nueva a la más vieja): la primera con un algoritmo conocido
+    public static String newestKid(List<JwtSigningKey> keys) {
+        return keys.stream().filter(JwtKeyRing::supported).map(JwtSigningKey::getKid).findFirst().orElse(null);
+    }
+
+    // Par de claves nuevo (RSA 2048 o EC P-256), listo para guardar
+    public static GeneratedKey generate(String algorithm, Instant createdAt) {
+        try {
+            KeyPairGenerator generator;
+            if (RS256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+            } else if (ES256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                throw new IllegalArgumentException("Algoritmo de firma JWT no soportado: " + algorithm);
+            }
+            KeyPair pair = generator.generateKeyPair();
+            Base64.Encoder encoder = Base64.getEncoder();
+            String kid = UUID.randomUUID().toString();
+            return new GeneratedKey(
+                    new JwtSigningKey(kid, algorithm, encoder.encodeToString(pair.getPublic().getEncoded()), createdAt),
+                    new JwtPrivateKey(kid, encoder.encodeToString(pair.getPrivate().getEncoded())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo generar la clave " + algorithm, e);
+        }
+    }
+
+    public boolean canSign() {
+        return signingAlgorithm != null;
+    }
+
+    public String signingKid() {
+        return signingKid;
+    }
+
+    public Algorithm signingAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    public JWTVerifier verifier(String kid) {
+        return verifiers.get(kid);
+    }
+
+    // Claves públicas en formato JWK (RFC 7517), para /.well-known/jwks.json
+    public List<Map<String, Object>> jwks() {
+        return jwks;
+    }
+
+    private static Map<String, Object> jwk(String kid, String algorithm, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", unsigned(rsa.getModulus(), (rsa.getModulus().bitLength() + 7) / 8));
+            jwk.put("e", unsigned(rsa.getPublicExponent(), (rsa.getPublicExponent().bitLength() + 7) / 8));
+        } else {
+            ECPublicKey ec = (ECPublicKey) publicKey;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", unsigned(ec.getW().getAffineX(), 32));
+            jwk.put("y", unsigned(ec.getW().getAffineY(), 32));
+        }
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        jwk.put("kid", kid);
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    // Enteros en base64url con largo fijo: sin el byte de signo de BigInteger y con ceros a la izquierda
+    private static String unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[length];
+        int copied = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copied, fixed, length - copied, copied);
+        return URL_ENCODER.encodeToString(fixed);
+    }
+
+    private static Algorithm algorithm(String algorithm, PublicKey publicKey, PrivateKey privateKey) {
+        return RS256.equals(algorithm)
+                ? Algorithm.RSA256((RSAPublicKey) publicKey, (RSAPrivateKey) privateKey)
+                : Algorithm.ECDSA256((ECPublicKey) publicKey, (ECPrivateKey) privateKey);
+    }
+
+    private static boolean supported(JwtSigningKey key) {
+        return RS256.equals(key.getAlgorithm()) || ES256.equals(key.getAlgorithm());
+    }
+
+    private static String keyType(JwtSigningKey key) {
+        return RS256.equals(key.getAlgorithm()) ? "RSA" : "EC";
+    }
+
+    private static PublicKey publicKey(JwtSigningKey key) {
+        try {
+            return KeyFactory.getInstance(keyType(key))
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Clave pública inválida: kid=" + key.getKid(), e);
+        }
+    }
+
+    private static PrivateKey privateKey(JwtPrivateKey key, String keyType) {
+        byte[] der = Base64.getDecoder().decode(key.getPrivateKey());
+        try {
+            return KeyFactory.getInstance(keyType).generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Clave privada inválida: kid=" + key.getKid(), e);
+        } finally {
+            Arrays.fill(der, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.proyecto.blog.utils;
+
+// De dónde saca JwtUtils las claves: JwtSigningKeyService en la aplicación, un anillo fijo en los benchmarks
+@FunctionalInterface
+public interface JwtKeySource {
+
+    JwtKeyRing current();
+
+    // Llegó un token con un kid que el anillo no tiene: puede ser una clave que otra instancia acaba de crear
+    default JwtKeyRing refreshFor(String kid) {
+        return current();
+    }
+}
@@ -1,59 +1,119 @@
 package com.proyecto.blog.utils;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.proyecto.blog.service.RoleAuthoritySnapshot;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.LongFunction;
 
 @Component
 public class JwtUtils {
 
-    @Value("${security.jwt.private.key}")
+    // Formato anterior: nombres separados por coma. En el formato compacto solo lleva las
+    // authorities que no están en el catálogo (por ejemplo las que vienen de OAuth2)
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    // Formato compacto: bitset de roles y permisos contra el catálogo (ver AuthorityCatalog)
+    public static final String COMPACT_AUTHORITIES_CLAIM = "authz";
+
+    // Vigencia de los tokens
+    public static final long TOKEN_VALIDITY_MS = 1_800_000;
+
+    // Secreto HMAC del esquema anterior: solo para aceptar los tokens sin kid emitidos antes de pasar
+    // a firma asimétrica. Una vez vencidos (TOKEN_VALIDITY_MS después del despliegue) se puede quitar
+    @Value("${security.jwt.private.key:}")
     private String privateKey;
 
     @Value("${security.jwt.user.generator}")
     private String userGenerator;
 
+    // En false se emite solo el formato anterior, para desplegar primero instancias que lean ambos
+    @Value("${security.jwt.authorities.compact:true}")
+    private boolean compactAuthorities;
+
+    // Catálogo que conoce al menos la versión pedida (0: el que haya)
+    private LongFunction<AuthorityCatalog> authorityCatalog = version -> AuthorityCatalog.empty();
+
+    // Claves de firma por kid; los verificadores ya vienen armados y se reutilizan entre requests
+    private JwtKeySource keySource = JwtKeyRing::empty;
+
+    // El verificador es inmutable y thread-safe: se construye una sola vez
+    private JWTVerifier legacyVerifier;
+
+    @PostConstruct
+    public void init() {
+        if (privateKey != null && !privateKey.isBlank()) {
+            this.legacyVerifier = JWT.require(Algorithm.HMAC256(privateKey))
+                    .withIssuer(this.userGenerator)
+                    .build(); //usa patrón builder
+        }
+    }
+
+    @Autowired
+    public void setKeySource(JwtKeySource keySource) {
+        this.keySource = keySource;
+    }
+
+    @Autowired
+    public void setAuthoritySnapshot(RoleAuthoritySnapshot authoritySnapshot) {
+        this.authorityCatalog = authoritySnapshot::catalog;
+    }
+
     //Método para crear tokens
     //Para encriptar, vamos a necesitar esta clave secreta y este algoritmo
     public String createToken(Authentication authentication) { //devuelve la cadena de caracteres
 
-        Algorithm algorithm = Algorithm.HMAC256(privateKey);
-
         //esto está dentro del security context holder
         String username = authentication.getPrincipal().toString();  //getPrincipal() representa al usuario autenticado
 
-        //también obtenemos los permisos/autorizaciones
-        //obtengo los permisos separados por coma
-
-        String authorities = authentication.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
+        //la firma es con la clave más nueva; su kid va en el header para elegir con qué verificar
+        JwtKeyRing keys = keySource.current();
+        if (!keys.canSign()) {
+            throw new IllegalStateException("Esta instancia no firma tokens (security.jwt.keys.signing-enabled=false)");
+        }
 
         //genero el token
-        String jwtToken = JWT.create()
+        JWTCreator.Builder builder = JWT.create()
+                .withKeyId(keys.signingKid())
                 //Issue = emitir
                 .withIssuer(this.userGenerator)//acá va el usuario que genera el token
-                .withSubject(username)  // a quien se le genera el token(usuario que viaja en el token)
-                .withClaim("authorities", authorities) //claims son los datos contraidos en el JWT
+                .withSubject(username);  // a quien se le genera el token(usuario que viaja en el token)
+
+        //también agregamos los permisos/autorizaciones; claims son los datos contraidos en el JWT
+        if (compactAuthorities) {
+            AuthorityCatalog.Encoded encoded = authorityCatalog.apply(0).encode(authentication.getAuthorities());
+            builder.withClaim(COMPACT_AUTHORITIES_CLAIM, encoded.bits());
+            if (!encoded.unlisted().isEmpty()) {
+                builder.withClaim(AUTHORITIES_CLAIM, String.join(",", encoded.unlisted()));
+            }
+        } else {
+            builder.withClaim(AUTHORITIES_CLAIM, String.join(",", authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList()));
+        }
+
+        String jwtToken = builder
                 .withIssuedAt(new Date()) //fecha de generación del token
-                .withExpiresAt(new Date(System.currentTimeMillis() + 1800000)) //fecha de expiración, tiempo en milisegundos
+                .withExpiresAt(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MS)) //fecha de expiración, tiempo en milisegundos
                 .withJWTId(UUID.randomUUID().toString()) //id al token - que genere una random
                 .withNotBefore(new Date(System.currentTimeMillis())) //desde cuando es válido (desde ahora en este caso)
-                .sign(algorithm); //nuestra firma es la que creamos con la clave secreta
+                .sign(keys.signingAlgorithm()); //nuestra firma es la de la clave privada vigente
 
         return jwtToken;
     }
@@ -62,26 +122,61 @@ public class JwtUtils {
     public DecodedJWT validateToken(String token) {
 
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.privateKey); //algoritmo + clave privada
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(this.userGenerator)
-                    .build(); //usa patrón builder
-
             //si está todo ok, no genera excepción y hace el return
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT;
+            DecodedJWT decodedJWT = JWT.decode(token);
+            return verifierFor(decodedJWT.getKeyId()).verify(decodedJWT);
+        }
+        catch (TokenExpiredException exception) {
+            throw exception; // Se propaga tal cual para distinguir en las métricas un token vencido de uno inválido
         }
         catch (JWTVerificationException exception) {
             throw new JWTVerificationException("Invalid token. Not authorized");
         }
     }
 
+    private JWTVerifier verifierFor(String kid) {
+        if (kid == null) { // Token HMAC del esquema anterior
+            if (legacyVerifier == null) {
+                throw new JWTVerificationException("Token sin kid");
+            }
+            return legacyVerifier;
+        }
+        JWTVerifier verifier = keySource.current().verifier(kid);
+        if (verifier == null) {
+            verifier = keySource.refreshFor(kid).verifier(kid);
+        }
+        if (verifier == null) {
+            throw new JWTVerificationException("kid desconocido");
+        }
+        return verifier;
+    }
+
     //método para obtener el usuario(que genera el token)
     public String extractUsername (DecodedJWT decodedJWT) {
         //el subject es el usuario según establecimos al crear el token
         return decodedJWT.getSubject().toString();
     }
 
+    //método para obtener las authorities del token, en el formato compacto o en el anterior
+    //las listas que devuelve son inmutables y comparten instancias entre tokens
+    public List<GrantedAuthority> extractAuthorities(DecodedJWT decodedJWT) {
+        Claim compact = decodedJWT.getClaim(COMPACT_AUTHORITIES_CLAIM);
+        String names = decodedJWT.getClaim(AUTHORITIES_CLAIM).asString();
+        if (compact.isMissing() || compact.isNull()) {
+            return authorityCatalog.apply(0).fromNames(names); // Token emitido antes del formato compacto
+        }
+
+        String bits = compact.asString();
+        AuthorityCatalog catalog = authorityCatalog.apply(AuthorityCatalog.versionOf(bits));
+        List<GrantedAuthority> authorities = catalog.decode(bits);
+        if (names == null) {
+            return authorities;
+        }
+        List<GrantedAuthority> merged = new ArrayList<>(authorities);
+        merged.addAll(catalog.fromNames(names));
+        return List.copyOf(merged);
+    }
+
     //método para obtener un claim en particular
     public Claim getSpecificClaim (DecodedJWT decodedJWT, String claimName) {
 
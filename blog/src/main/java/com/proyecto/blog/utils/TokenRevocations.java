@@ -0,0 +1,8 @@
+package com.proyecto.blog.utils;
+
+// Qué jti están revocados: TokenRevocationService en la aplicación, un filtro fijo en los benchmarks
+@FunctionalInterface
+public interface TokenRevocations {
+
+    boolean isRevoked(String jti);
+}
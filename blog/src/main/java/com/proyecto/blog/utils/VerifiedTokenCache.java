@@ -0,0 +1,120 @@
+package com.proyecto.blog.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cache acotada de tokens JWT ya verificados (Caffeine).
+// La clave es un digest SHA-256 del token (nunca guardamos el token en claro) y cada entrada
+// expira en el "exp" del propio token, así que un hit nunca devuelve un token vencido. Llena, Caffeine
+// descarta las entradas menos usadas y el token nuevo entra igual.
+// Un hit no dice nada de la revocación: el filtro consulta el jti aparte en cada request.
+@Component
+public class VerifiedTokenCache {
+
+    // Datos que el filtro necesita para armar la autenticación sin volver a decodificar el token
+    public record CachedToken(String username, List<GrantedAuthority> authorities, String jti, long expiresAtMillis) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    // Vida de la entrada = lo que le queda al token; leerla no la extiende
+    private static final Expiry<String, CachedToken> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String key, CachedToken cached, long currentTime) {
+            long remainingMillis = Math.max(0, cached.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
+    private final Cache<String, CachedToken> entries;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-entries:10000}") int maxEntries,
+                              MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .recordStats()
+                .build();
+
+        FunctionCounter.builder("security.jwt.cache.requests", entries, cache -> cache.stats().hitCount())
+                .tag("result", "hit")
+                .description("Tokens resueltos desde la cache de tokens verificados")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.cache.requests", entries, cache -> cache.stats().missCount())
+                .tag("result", "miss")
+                .description("Tokens que tuvieron que decodificarse y verificar su firma")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.cache.evictions", entries, cache -> cache.stats().evictionCount())
+                .description("Entradas descartadas por expiración del token o por falta de lugar")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", entries, Cache::estimatedSize)
+                .description("Tokens verificados actualmente en cache")
+                .register(meterRegistry);
+    }
+
+    // Clave del token en la cache; el filtro la calcula una vez y la usa para get y para put
+    public static String key(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    // Devuelve el token cacheado o null si no está o ya expiró
+    public CachedToken get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public CachedToken put(String key, String username, List<GrantedAuthority> authorities, String jti, Date expiresAt) {
+        CachedToken cached = new CachedToken(username, List.copyOf(authorities), jti, expiresAt.getTime());
+        entries.put(key, cached);
+        return cached;
+    }
+
+    // Caffeine limpia solo a medida que se usa; esto fuerza la limpieza pendiente (vencidos y excedente)
+    public void purgeExpired() {
+        entries.cleanUp();
+    }
+
+    public long getHits() {
+        return entries.stats().hitCount();
+    }
+
+    public long getMisses() {
+        return entries.stats().missCount();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+}
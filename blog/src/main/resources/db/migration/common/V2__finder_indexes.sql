@@ -0,0 +1,21 @@
+-- Índices compuestos para las consultas de los repositorios (SQL común a MySQL y H2).
+-- Casi todas filtran por deleted = false y paginan por id (keyset), así que el índice
+-- (deleted, id) sirve al filtro y al orden sin recorrer la tabla ni ordenar en memoria.
+
+-- findByDeletedFalse, feed general, exportación y findByIdAndDeletedFalse
+create index idx_posts_deleted_id on posts (deleted, id);
+create index idx_authors_deleted_id on authors (deleted, id);
+create index idx_users_deleted_id on users (deleted, id);
+create index idx_roles_deleted_id on roles (deleted, id);
+create index idx_permissions_deleted_id on permissions (deleted, id);
+
+-- Feed por autor, conteo de posts por autor, posts recientes (ROW_NUMBER por autor) y ETag del autor
+create index idx_posts_author_deleted_id on posts (author_id, deleted, id);
+
+-- findByRole / findByRoleName
+create index idx_roles_role on roles (role);
+
+-- Las claves primarias de las tablas intermedias empiezan por la otra columna: estos índices
+-- cubren la carga de roles de un usuario y de permisos de un rol
+create index idx_user_roles_user_role on user_roles (user_id, role_id);
+create index idx_roles_permissions_role_permission on roles_permissions (role_id, permission_id);
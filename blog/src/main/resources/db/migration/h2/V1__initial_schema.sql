@@ -0,0 +1,16 @@
+-- Esquema inicial para H2 (tests y benchmarks); mismo modelo que db/migration/mysql/V1 (ids IDENTITY).
+
+create table users (account_not_expired boolean not null, account_not_locked boolean not null, credential_not_expired boolean not null, deleted boolean not null, enabled boolean not null, id bigint generated by default as identity, password varchar(255), username varchar(255) unique, primary key (id));
+create table authors (deleted boolean not null, id bigint generated by default as identity, user_id bigint not null unique, name varchar(255) not null, primary key (id));
+create table posts (deleted boolean not null, author_id bigint not null, id bigint generated by default as identity, content TEXT not null, title varchar(255) not null, primary key (id));
+create table roles (deleted boolean not null, id bigint generated by default as identity, role varchar(255), primary key (id));
+create table permissions (deleted boolean not null, id bigint generated by default as identity, permission_name varchar(255) not null unique, primary key (id));
+create table roles_permissions (permission_id bigint not null, role_id bigint not null, primary key (permission_id, role_id));
+create table user_roles (role_id bigint not null, user_id bigint not null, primary key (role_id, user_id));
+
+alter table authors add constraint FK6g6ireq6qd4nxohq9ldidxfin foreign key (user_id) references users;
+alter table posts add constraint FK25al4a7msjnskhqkujkt2ca0u foreign key (author_id) references authors;
+alter table roles_permissions add constraint FKbx9r9uw77p58gsq4mus0mec0o foreign key (permission_id) references permissions;
+alter table roles_permissions add constraint FKqi9odri6c1o81vjox54eedwyh foreign key (role_id) references roles;
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles;
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users;
@@ -0,0 +1,3 @@
+-- Claves para firmar los JWT (RS256 o ES256); todas las instancias comparten la misma tabla (ver JwtSigningKeyService)
+create table jwt_signing_keys (created_at timestamp(6) with time zone not null, kid varchar(64) not null, algorithm varchar(16) not null, public_key varchar(1024) not null, private_key varchar(2048) not null, primary key (kid));
+create index idx_jwt_signing_keys_created_at on jwt_signing_keys (created_at);
@@ -0,0 +1,4 @@
+-- Refresh tokens: solo el SHA-256 del token (base64url), el usuario y el vencimiento (ver RefreshTokenService)
+create table refresh_tokens (used boolean not null, expires_at timestamp(6) with time zone not null, user_id bigint not null, token_hash varchar(43) not null, primary key (token_hash));
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
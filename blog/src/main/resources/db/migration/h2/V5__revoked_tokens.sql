@@ -0,0 +1,3 @@
+-- jti de los JWT revocados antes de vencer; la fila se borra cuando el token vence (ver TokenRevocationService)
+create table revoked_tokens (expires_at timestamp(6) with time zone not null, jti varchar(64) not null, primary key (jti));
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
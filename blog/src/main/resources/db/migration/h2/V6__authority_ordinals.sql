@@ -0,0 +1,3 @@
+-- Bit de cada rol y permiso en el claim compacto del JWT (ver AuthorityCatalog); las filas no se modifican ni se borran
+create table authority_ordinals (bit_index integer not null, authority varchar(255) not null, primary key (authority));
+alter table authority_ordinals add constraint uk_authority_ordinals_bit_index unique (bit_index);
@@ -0,0 +1,7 @@
+-- Las entidades pasan de IDENTITY a secuencias con pool (allocationSize = 50). En H2 (tests y benchmarks) la base
+-- siempre se crea de cero, así que las secuencias arrancan en 1; en MySQL arrancan por encima del id máximo
+create sequence users_seq start with 1 increment by 50;
+create sequence authors_seq start with 1 increment by 50;
+create sequence posts_seq start with 1 increment by 50;
+create sequence roles_seq start with 1 increment by 50;
+create sequence permissions_seq start with 1 increment by 50;
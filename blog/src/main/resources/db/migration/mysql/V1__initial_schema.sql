@@ -0,0 +1,21 @@
+-- Esquema inicial, tal como lo generaba Hibernate (ddl-auto=update) antes de Flyway: ids IDENTITY,
+-- sin columnas de versión ni secuencias (llegan en V7 y V8).
+-- Las bases que ya existían se marcan con baseline en la versión 1 y no ejecutan este script.
+
+create table users (account_not_expired bit not null, account_not_locked bit not null, credential_not_expired bit not null, deleted bit not null, enabled bit not null, id bigint not null auto_increment, password varchar(255), username varchar(255), primary key (id)) engine=InnoDB;
+create table authors (deleted bit not null, id bigint not null auto_increment, user_id bigint not null, name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table posts (deleted bit not null, author_id bigint not null, id bigint not null auto_increment, content TEXT not null, title varchar(255) not null, primary key (id)) engine=InnoDB;
+create table roles (deleted bit not null, id bigint not null auto_increment, role varchar(255), primary key (id)) engine=InnoDB;
+create table permissions (deleted bit not null, id bigint not null auto_increment, permission_name varchar(255) not null, primary key (id)) engine=InnoDB;
+create table roles_permissions (permission_id bigint not null, role_id bigint not null, primary key (permission_id, role_id)) engine=InnoDB;
+create table user_roles (role_id bigint not null, user_id bigint not null, primary key (role_id, user_id)) engine=InnoDB;
+
+alter table authors add constraint UKm8xy00x64fkvxt9g4u1pfrmmr unique (user_id);
+alter table permissions add constraint UKnry1f3jmc4abb5yvkftlvn6vg unique (permission_name);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table authors add constraint FK6g6ireq6qd4nxohq9ldidxfin foreign key (user_id) references users (id);
+alter table posts add constraint FK25al4a7msjnskhqkujkt2ca0u foreign key (author_id) references authors (id);
+alter table roles_permissions add constraint FKbx9r9uw77p58gsq4mus0mec0o foreign key (permission_id) references permissions (id);
+alter table roles_permissions add constraint FKqi9odri6c1o81vjox54eedwyh foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
@@ -0,0 +1,5 @@
+-- Bloqueo optimista y fecha de última modificación de autores y posts; las filas existentes arrancan en la versión 0
+alter table authors add column version bigint not null default 0;
+alter table authors add column updated_at datetime(6);
+alter table posts add column version bigint not null default 0;
+alter table posts add column updated_at datetime(6);
@@ -0,0 +1,14 @@
+-- Las entidades pasan de IDENTITY a secuencias con pool (allocationSize = 50), que MySQL emula con tablas <tabla>_seq.
+-- Cada secuencia arranca por encima del id máximo más un bloque: el optimizador pooled usa los ids
+-- (next_val - 50, next_val], así que los primeros que genere no pueden chocar con filas existentes.
+-- Las columnas id conservan auto_increment; Hibernate siempre manda el id y no se usa.
+create table users_seq (next_val bigint) engine=InnoDB;
+insert into users_seq select coalesce(max(id) + 51, 1) from users;
+create table authors_seq (next_val bigint) engine=InnoDB;
+insert into authors_seq select coalesce(max(id) + 51, 1) from authors;
+create table posts_seq (next_val bigint) engine=InnoDB;
+insert into posts_seq select coalesce(max(id) + 51, 1) from posts;
+create table roles_seq (next_val bigint) engine=InnoDB;
+insert into roles_seq select coalesce(max(id) + 51, 1) from roles;
+create table permissions_seq (next_val bigint) engine=InnoDB;
+insert into permissions_seq select coalesce(max(id) + 51, 1) from permissions;
@@ -0,0 +1,6 @@
+-- Las claves privadas salen de jwt_signing_keys: los nodos que solo verifican leen esa tabla y no necesitan
+-- permisos sobre esta, que solo usan los que firman (ver JwtSigningKeyService)
+create table jwt_private_keys (kid varchar(64) not null, private_key varchar(2048) not null, primary key (kid)) engine=InnoDB;
+alter table jwt_private_keys add constraint fk_jwt_private_keys_kid foreign key (kid) references jwt_signing_keys (kid) on delete cascade;
+insert into jwt_private_keys (kid, private_key) select kid, private_key from jwt_signing_keys;
+alter table jwt_signing_keys drop column private_key;
@@ -0,0 +1,127 @@
+package com.proyecto.blog.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.proyecto.blog.utils.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// Spring Boot apaga los registries de exportación en los tests; acá se necesita el de Prometheus
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class InstrumentationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${security.jwt.private.key}")
+    private String privateKey;
+
+    @Value("${security.jwt.user.generator}")
+    private String userGenerator;
+
+    @Test
+    void jwtValidationIsTimedByOutcome() throws Exception {
+        String token = userToken();
+        String expired = JWT.create()
+                .withIssuer(userGenerator)
+                .withSubject("expired@blog.com")
+                .withClaim("authorities", "ROLE_USER")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 60_000))
+                .sign(Algorithm.HMAC256(privateKey));
+
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + expired)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer no-es-un-jwt")).andExpect(status().isUnauthorized());
+
+        assertThat(jwtCount("success", "miss")).isGreaterThanOrEqualTo(1);
+        assertThat(jwtCount("success", "hit")).isGreaterThanOrEqualTo(1);
+        assertThat(jwtCount("expired", "miss")).isGreaterThanOrEqualTo(1);
+        assertThat(jwtCount("invalid", "miss")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void requestRecordsServiceRepositoryAndStatementMeters() throws Exception {
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("blog.service")
+                .tags("service", "PostService", "method", "getAllPosts", "outcome", "success")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tags("repository", "IPostRepository", "method", "findPostViews")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        // getAllPosts trae la página; el validador puede salir de VersionStampCache sin consultar
+        assertThat(meterRegistry.get("blog.http.sql.statements")
+                .tags("method", "GET", "uri", "/api/posts")
+                .summary().max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void prometheusEndpointExposesHistograms() throws Exception {
+        String token = userToken();
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("blog_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("security_jwt_validation_seconds_bucket{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("blog_http_sql_statements_bucket{")));
+    }
+
+    @Test
+    void metricsEndpointsAreReservedToAdmins() throws Exception {
+        String token = userToken();
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/security.jwt.validation").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private String adminToken() {
+        return jwtUtils.createToken(new UsernamePasswordAuthenticationToken("metrics-admin@blog.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    private String userToken() {
+        return jwtUtils.createToken(new UsernamePasswordAuthenticationToken("metrics@blog.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private long jwtCount(String outcome, String cache) {
+        return meterRegistry.get("security.jwt.validation").tags("outcome", outcome, "cache", cache).timer().count();
+    }
+}
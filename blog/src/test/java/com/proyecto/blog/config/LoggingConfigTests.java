@@ -0,0 +1,125 @@
+package com.proyecto.blog.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import com.proyecto.blog.dto.AuthLoginRequestDTO;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.service.UserDetailsServiceImp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoggingConfigTests {
+
+    private static final String LOGGER = "com.proyecto.blog.service";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserDetailsServiceImp userDetailsService;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void resetLevel() {
+        loggingSystem.setLogLevel(LOGGER, null);
+    }
+
+    @Test
+    void consoleIsWrittenThroughBoundedNonBlockingAsyncAppender() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC_CONSOLE");
+
+        assertThat(appender).isInstanceOf(AsyncAppender.class);
+        AsyncAppender async = (AsyncAppender) appender;
+        assertThat(async.isNeverBlock()).isTrue();
+        assertThat(async.getQueueSize()).isEqualTo(8192);
+        assertThat(async.isIncludeCallerData()).isFalse();
+        assertThat(context.getLogger("org.springframework.security").getEffectiveLevel().levelStr).isEqualTo("INFO");
+    }
+
+    @Test
+    void adminChangesLogLevelAtRuntime() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/{name}", LOGGER)
+                        .with(user("admin@blog.com").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"DEBUG\"}"))
+                .andExpect(status().isNoContent());
+
+        assertThat(LoggerFactory.getLogger(LOGGER).isDebugEnabled()).isTrue();
+        assertThat(loggingSystem.getLoggerConfiguration(LOGGER).getConfiguredLevel()).isEqualTo(LogLevel.DEBUG);
+    }
+
+    @Test
+    void nonAdminCannotChangeLogLevel() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/{name}", LOGGER)
+                        .with(user("user@blog.com").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"TRACE\"}"))
+                .andExpect(status().isForbidden());
+
+        assertThat(LoggerFactory.getLogger(LOGGER).isTraceEnabled()).isFalse();
+    }
+
+    @Test
+    void nonAdminCannotReadLogLevels() throws Exception {
+        mockMvc.perform(get("/actuator/loggers").with(user("user@blog.com").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/loggers/{name}", LOGGER).with(user("admin@blog.com").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loginHashesThePasswordExactlyOnce() {
+        String username = "hash-once" + System.nanoTime() + "@blog.com";
+        UserSec user = new UserSec();
+        user.setUsername(username);
+        user.setPassword(passwordEncoder.encode("secreto"));
+        user.setEnabled(true);
+        user.setAccountNotExpired(true);
+        user.setAccountNotLocked(true);
+        user.setCredentialNotExpired(true);
+        userSecRepository.save(user);
+        double before = hashCount();
+
+        userDetailsService.loginUser(new AuthLoginRequestDTO(username, "secreto"), "127.0.0.1");
+
+        assertThat(hashCount() - before).isEqualTo(1);
+    }
+
+    private double hashCount() {
+        return meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count();
+    }
+}
@@ -0,0 +1,307 @@
+package com.proyecto.blog.config;
+
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IJwtSigningKeyRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.service.PostService;
+import com.proyecto.blog.service.RoleAuthoritySnapshot;
+import com.proyecto.blog.service.JwtSigningKeyService;
+import com.proyecto.blog.service.TokenRevocationService;
+import com.proyecto.blog.utils.JwtKeyRing;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dos bases H2 en memoria hacen de réplicas de MySQL. Cada una tiene el esquema migrado y un post
+// propio ("replica-1" / "replica-2"), así el resultado de una lectura dice de qué base salió
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+    private static final String REPLICA_1 = "jdbc:h2:mem:replica-1-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_2 = "jdbc:h2:mem:replica-2-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        registry.add("blog.datasource.replica-urls", () -> REPLICA_1 + "," + REPLICA_2);
+        // Los chequeos se disparan a mano en cada test
+        registry.add("blog.datasource.replica-health-interval-ms", () -> 0);
+        registry.add("blog.datasource.read-your-writes-ms", () -> 60_000);
+        registry.add("security.jwt.keys.unknown-kid-refresh-ms", () -> 0);
+    }
+
+    // En producción el esquema llega por replicación; acá se migra igual que el primario
+    @BeforeAll
+    static void migrateReplicas() {
+        seedReplica(REPLICA_1, "replica-1");
+        seedReplica(REPLICA_2, "replica-2");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private RoleAuthoritySnapshot roleAuthoritySnapshot;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private JwtSigningKeyService signingKeyService;
+
+    @Autowired
+    private IJwtSigningKeyRepository keyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() {
+        assertThat(dataSource).isInstanceOf(ReadWriteRoutingDataSource.class);
+
+        List<String> first = titles(readAllPosts());
+        List<String> second = titles(readAllPosts());
+
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder(List.of("replica-1"), List.of("replica-2"));
+    }
+
+    @Test
+    void writesGoToPrimaryAndTheWriterReadsItsOwnChange() {
+        Long authorId = createAuthor("alice@blog.com");
+        authenticate("alice@blog.com");
+
+        Post post = new Post();
+        post.setTitle("post de alice");
+        post.setContent("Escrito en el primario");
+        Author author = new Author();
+        author.setId(authorId);
+        post.setAuthor(author);
+        postService.createPost(post);
+
+        // El JdbcTemplate del contexto no es readOnly: va al primario
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM posts", String.class)).containsExactly("post de alice");
+        assertThat(new JdbcTemplate(replica(REPLICA_1)).queryForList("SELECT title FROM posts", String.class))
+                .containsExactly("replica-1");
+
+        // Alice escribió recién: sus lecturas quedan en el primario mientras dure la ventana
+        assertThat(titles(readAllPosts())).containsExactly("post de alice");
+        assertThat(titles(readAllPosts())).containsExactly("post de alice");
+
+        // Bob no escribió: lee de las réplicas
+        authenticate("bob@blog.com");
+        assertThat(titles(readAllPosts())).containsAnyOf("replica-1", "replica-2").doesNotContain("post de alice");
+    }
+
+    @Test
+    void roleSnapshotIsRebuiltFromThePrimary() {
+        // El rol existe solo en el primario, como en una réplica que todavía no recibió el cambio
+        jdbcTemplate.update("INSERT INTO roles (deleted, id, role) VALUES (false, 9001, 'EDITOR')");
+
+        // Aun llamada desde una transacción readOnly (el login, por ejemplo) la carga no va a una réplica
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> roleAuthoritySnapshot.rebuild());
+
+        assertThat(roleAuthoritySnapshot.expand(List.of(9001L))).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_EDITOR");
+        jdbcTemplate.update("DELETE FROM roles WHERE id = 9001");
+        roleAuthoritySnapshot.rebuild();
+    }
+
+    @Test
+    void revokedTokensAreReloadedFromThePrimary() {
+        // Otra instancia revocó el token: la fila está en el primario y las réplicas todavía no la tienen
+        String jti = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO revoked_tokens (expires_at, jti) VALUES (?, ?)",
+                Timestamp.from(Instant.now().plusSeconds(600)), jti);
+
+        // Sin transacción alrededor, como en el hilo de recarga
+        tokenRevocationService.refresh();
+
+        assertThat(tokenRevocationService.isRevoked(jti)).isTrue();
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE jti = ?", jti);
+        tokenRevocationService.refresh();
+    }
+
+    @Test
+    void signingKeysAreLoadedFromThePrimary() {
+        // Aun desde una transacción readOnly (validar un token dentro de una lectura, por ejemplo)
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Rotar crea la clave en el primario y la vuelve a leer: con una réplica atrasada no la vería
+        String before = signingKeyService.current().signingKid();
+        readOnly.executeWithoutResult(status -> signingKeyService.rotate());
+        String rotated = signingKeyService.current().signingKid();
+        assertThat(rotated).isNotNull().isNotEqualTo(before);
+        assertThat(jdbcTemplate.queryForList("SELECT kid FROM jwt_signing_keys", String.class)).contains(rotated);
+
+        // Clave creada por otra instancia (solo en el primario): la recarga por kid desconocido la encuentra
+        String otherKid = keyRepository.save(JwtKeyRing.generate(JwtKeyRing.RS256, Instant.now()).key()).getKid();
+        JwtKeyRing ring = readOnly.execute(status -> signingKeyService.refreshFor(otherKid));
+        assertThat(ring.verifier(otherKid)).isNotNull();
+    }
+
+    @Test
+    void downReplicaIsSkippedUntilTheHealthCheckPasses() {
+        AtomicBoolean replica2Down = new AtomicBoolean();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica(REPLICA_1));
+        replicas.put("replica-2", failing(replica(REPLICA_2), replica2Down));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryWithMarker(), replicas, new ReadYourWritesTracker(60_000), 0);
+
+        replica2Down.set(true);
+        assertThat(List.of(readOnlyTitle(routing), readOnlyTitle(routing), readOnlyTitle(routing)))
+                .containsOnly("replica-1");
+        assertThat(routing.isReplicaHealthy("replica-2")).isFalse();
+
+        // Aunque vuelva, no recibe lecturas hasta el próximo chequeo
+        replica2Down.set(false);
+        assertThat(List.of(readOnlyTitle(routing), readOnlyTitle(routing))).containsOnly("replica-1");
+
+        routing.checkReplicas();
+        assertThat(routing.isReplicaHealthy("replica-2")).isTrue();
+        assertThat(List.of(readOnlyTitle(routing), readOnlyTitle(routing))).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenNoReplicaIsHealthy() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryWithMarker(),
+                Map.of("replica-1", failing(replica(REPLICA_1), down)), new ReadYourWritesTracker(60_000), 0);
+
+        routing.checkReplicas();
+
+        assertThat(routing.isReplicaHealthy("replica-1")).isFalse();
+        assertThat(readOnlyTitle(routing)).isEqualTo("primario");
+    }
+
+    private List<PostDTOandNameAuthor> readAllPosts() {
+        // La cache de consultas respondería sin ir a ninguna base
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        return postService.getAllPosts();
+    }
+
+    private static List<String> titles(List<PostDTOandNameAuthor> posts) {
+        return posts.stream().map(PostDTOandNameAuthor::getTitle).toList();
+    }
+
+    private Long createAuthor(String username) {
+        UserSec user = new UserSec();
+        user.setUsername(username);
+        user.setEnabled(true);
+        userSecRepository.save(user);
+
+        Author author = new Author();
+        author.setName(username);
+        author.setUser(user);
+        return authorRepository.save(author).getId();
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_AUTHOR")));
+    }
+
+    // Lee el título del primer post dentro de una transacción readOnly
+    private static String readOnlyTitle(DataSource routing) {
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> new JdbcTemplate(routing)
+                .queryForList("SELECT title FROM posts", String.class).get(0));
+    }
+
+    private static DataSource primaryWithMarker() {
+        String url = "jdbc:h2:mem:primary-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        new JdbcTemplate(replica(url)).execute("CREATE TABLE posts (title VARCHAR(255)); INSERT INTO posts VALUES ('primario')");
+        return replica(url);
+    }
+
+    private static DataSource replica(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    // Simula una réplica que no acepta conexiones
+    private static DataSource failing(DataSource target, AtomicBoolean down) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (down.get()) {
+                    throw new SQLTransientConnectionException("réplica caída");
+                }
+                return super.getConnection();
+            }
+        };
+    }
+
+    private static void seedReplica(String url, String title) {
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        JdbcTemplate replica = new JdbcTemplate(replica(url));
+        replica.update("INSERT INTO users (account_not_expired, account_not_locked, credential_not_expired, deleted, enabled, id, username)"
+                + " VALUES (true, true, true, false, true, 1, ?)", title + "@blog.com");
+        replica.update("INSERT INTO authors (deleted, id, user_id, version, name) VALUES (false, 1, 1, 0, ?)", title);
+        replica.update("INSERT INTO posts (deleted, author_id, id, version, content, title) VALUES (false, 1, 1, 0, 'Contenido', ?)", title);
+    }
+}
@@ -0,0 +1,85 @@
+package com.proyecto.blog.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// El timer de los servicios (con histograma, como en producción) debe sumar menos de 1µs por llamada.
+// Se compara contra el mismo proxy con un interceptor vacío, así solo se mide la instrumentación.
+class ServiceMetricsOverheadTests {
+
+    private static final int CALLS = 200_000;
+    private static final int ROUNDS = 10;
+
+    public static class Target {
+
+        private long value;
+
+        public long next() {
+            return ++value;
+        }
+    }
+
+    @Test
+    void timingAddsLessThanOneMicrosecondPerCall() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofNanos(100_000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(5).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        Target plain = proxy(invocation -> invocation.proceed());
+        Target timed = proxy(new ServiceMetricsPostProcessor.TimingInterceptor(() -> registry));
+
+        // Calentamiento para que el JIT compile ambos caminos antes de medir
+        run(plain);
+        run(timed);
+
+        // El mínimo de varias rondas descarta las pausas del GC y del scheduler
+        long plainBest = Long.MAX_VALUE;
+        long timedBest = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            plainBest = Math.min(plainBest, run(plain));
+            timedBest = Math.min(timedBest, run(timed));
+        }
+
+        double overheadPerCall = (double) (timedBest - plainBest) / CALLS;
+        assertThat(overheadPerCall).as("ns agregados por llamada").isLessThan(1_000);
+        assertThat(registry.get("blog.service").tag("method", "next").timer().count())
+                .isEqualTo((long) CALLS * (ROUNDS + 1));
+    }
+
+    private static Target proxy(MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(new Target());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(interceptor);
+        return (Target) factory.getProxy();
+    }
+
+    private static long run(Target target) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += target.next();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return elapsed;
+    }
+}
@@ -0,0 +1,129 @@
+package com.proyecto.blog.controller;
+
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Los tests editan las filas directo con el repositorio, sin pasar por PostService que invalida
+// PostReadCache: con ttl 0 las cargas se siguen uniendo pero el resultado no se retiene
+@SpringBootTest(properties = {"blog.posts.read-cache.ttl-ms=0", "blog.version-stamps.ttl-ms=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "USER")
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long authorId;
+    private Long postId;
+
+    @BeforeEach
+    void seedPost() {
+        transactionTemplate.executeWithoutResult(status -> {
+            UserSec user = new UserSec();
+            user.setUsername("etag" + System.nanoTime() + "@blog.com");
+            user.setEnabled(true);
+            userSecRepository.save(user);
+
+            Author author = new Author();
+            author.setName("ETag");
+            author.setUser(user);
+            authorId = authorRepository.save(author).getId();
+
+            Post post = new Post();
+            post.setTitle("Versionado");
+            post.setContent("Contenido original");
+            post.setAuthor(author);
+            postId = postRepository.save(post).getId();
+        });
+    }
+
+    @Test
+    void postAnswers304WhenETagMatchesAndChangesAfterUpdate() throws Exception {
+        String etag = mockMvc.perform(get("/api/posts/{id}", postId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"post-" + postId);
+
+        mockMvc.perform(get("/api/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        transactionTemplate.executeWithoutResult(status ->
+                postRepository.findById(postId).orElseThrow().setContent("Contenido editado"));
+
+        mockMvc.perform(get("/api/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void postListETagChangesAfterSoftDelete() throws Exception {
+        String etag = mockMvc.perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(status ->
+                postRepository.findById(postId).orElseThrow().setDeleted(true));
+
+        mockMvc.perform(get("/api/posts").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/{id}", postId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void authorETagCoversItsPosts() throws Exception {
+        String etag = mockMvc.perform(get("/api/authors/{id}", authorId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/authors/{id}", authorId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(status ->
+                postRepository.findById(postId).orElseThrow().setTitle("Título nuevo"));
+
+        mockMvc.perform(get("/api/authors/{id}", authorId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,169 @@
+package com.proyecto.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.service.RoleAuthoritySnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Capacidad de conexiones concurrentes: por cada escalón, N clientes en lazo cerrado (cada uno manda
+// la siguiente request apenas recibe la respuesta) piden posts por id durante unos segundos.
+// La capacidad es el mayor N sin errores y con p99 por debajo del SLO.
+// El resultado queda en target/loadtest/capacity.json:
+//   mvn -Ploadtest test -Dtest=ConcurrentConnectionsLoadTests
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class ConcurrentConnectionsLoadTests {
+
+    private static final int[] CONCURRENCY_STEPS = Arrays.stream(
+                    System.getProperty("loadtest.capacity.steps", "50,100,200,400,800").split(","))
+            .mapToInt(step -> Integer.parseInt(step.trim()))
+            .toArray();
+    private static final int STEP_SECONDS = Integer.getInteger("loadtest.capacity.stepSeconds", 15);
+    private static final int SLO_MILLIS = Integer.getInteger("loadtest.capacity.sloMs", 1000);
+    private static final int POSTS = Integer.getInteger("loadtest.posts", 5000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IUserSecRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IPermissionRepository permissionRepository;
+    @Autowired
+    private IAuthorRepository authorRepository;
+    @Autowired
+    private IPostRepository postRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private List<Long> postIds;
+    private String token;
+
+    @Test
+    void concurrentConnectionCapacity() throws Exception {
+        LoadTestSeeder seeder = new LoadTestSeeder(userRepository, roleRepository, permissionRepository,
+                authorRepository, postRepository, passwordEncoder);
+        LoadTestSeeder.SeededData data = new TransactionTemplate(transactionManager)
+                .execute(status -> seeder.seed(1, 10, POSTS, 2000));
+        authoritySnapshot.rebuild();
+        postIds = data.postIds();
+        token = login(data.usernames().get(0));
+
+        // Calentamiento con el escalón más chico
+        runStep(CONCURRENCY_STEPS[0]);
+
+        int capacity = 0;
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (int concurrency : CONCURRENCY_STEPS) {
+            Map<String, Object> step = runStep(concurrency).summary(STEP_SECONDS);
+            steps.put(String.valueOf(concurrency), step);
+            if ((long) step.get("errors") == 0 && (double) step.get("p99Ms") <= SLO_MILLIS) {
+                capacity = concurrency;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("config", Map.of(
+                "stepSeconds", STEP_SECONDS, "sloMs", SLO_MILLIS, "posts", POSTS,
+                "javaVersion", System.getProperty("java.version"),
+                "availableProcessors", Runtime.getRuntime().availableProcessors()));
+        summary.put("capacity", capacity);
+        summary.put("steps", steps);
+
+        Path file = Path.of("target", "loadtest", "capacity.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writeValue(file.toFile(), summary);
+        System.out.println(objectMapper.writeValueAsString(summary));
+
+        assertThat(steps).hasSize(CONCURRENCY_STEPS.length);
+    }
+
+    private LatencyRecorder runStep(int concurrency) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STEP_SECONDS);
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            clients.add(client(recorder, deadline));
+        }
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).get(STEP_SECONDS + 120L, TimeUnit.SECONDS);
+        return recorder;
+    }
+
+    // Un cliente en lazo cerrado: encadena requests hasta el fin del escalón
+    private CompletableFuture<Void> client(LatencyRecorder recorder, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/posts/" + postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()))))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    recorder.record(System.nanoTime() - start, error == null && response.statusCode() < 400);
+                    return null;
+                })
+                .thenCompose(ignored -> client(recorder, deadline));
+    }
+
+    private String login(String username) throws Exception {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("jwt").asText();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,226 @@
+package com.proyecto.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.service.RoleAuthoritySnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Prueba de carga de punta a punta (filtro de seguridad -> controller -> service -> JPA) contra H2.
+// No corre con "mvn test"; se ejecuta con: mvn -Ploadtest test
+// Volúmenes y carga se configuran con -Dloadtest.* (ver los valores por defecto abajo).
+// El resumen queda en target/loadtest/summary.json para poder comparar corridas.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class EndToEndLoadTests {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 200);
+    private static final int AUTHORS = Integer.getInteger("loadtest.authors", 20);
+    private static final int POSTS = Integer.getInteger("loadtest.posts", 5000);
+    private static final int CONTENT_LENGTH = Integer.getInteger("loadtest.contentLength", 2000);
+    private static final int RATE_PER_SECOND = Integer.getInteger("loadtest.rate", 100);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+
+    // Mezcla de operaciones en porcentaje (suma 100)
+    private static final int LOGIN_WEIGHT = Integer.getInteger("loadtest.mix.login", 2);
+    private static final int FEED_WEIGHT = Integer.getInteger("loadtest.mix.feed", 45);
+    private static final int GET_WEIGHT = Integer.getInteger("loadtest.mix.get", 43);
+    private static final int CREATE_WEIGHT = Integer.getInteger("loadtest.mix.create", 5);
+
+    private static final Path SUMMARY_FILE = Path.of("target", "loadtest", "summary.json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IUserSecRepository userRepository;
+    @Autowired
+    private IRoleRepository roleRepository;
+    @Autowired
+    private IPermissionRepository permissionRepository;
+    @Autowired
+    private IAuthorRepository authorRepository;
+    @Autowired
+    private IPostRepository postRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadTestSeeder.SeededData data;
+    private List<String> userTokens;
+    private List<String> authorTokens;
+    private Map<String, LatencyRecorder> recorders;
+
+    @Test
+    void mixedWorkloadAtFixedRate() throws Exception {
+        LoadTestSeeder seeder = new LoadTestSeeder(userRepository, roleRepository, permissionRepository,
+                authorRepository, postRepository, passwordEncoder);
+        data = new TransactionTemplate(transactionManager)
+                .execute(status -> seeder.seed(USERS, AUTHORS, POSTS, CONTENT_LENGTH));
+        authoritySnapshot.rebuild();
+
+        userTokens = login(data.usernames().subList(0, Math.min(20, data.usernames().size())));
+        authorTokens = login(data.authorUsernames());
+
+        // Calentamiento: misma carga, resultados descartados
+        run(WARMUP_SECONDS);
+        Map<String, LatencyRecorder> measured = run(DURATION_SECONDS);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("config", Map.of(
+                "users", USERS, "authors", AUTHORS, "posts", POSTS, "contentLength", CONTENT_LENGTH,
+                "ratePerSecond", RATE_PER_SECOND, "durationSeconds", DURATION_SECONDS,
+                "javaVersion", System.getProperty("java.version"),
+                "availableProcessors", Runtime.getRuntime().availableProcessors()));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        measured.forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.summary(DURATION_SECONDS)));
+        summary.put("endpoints", endpoints);
+
+        Files.createDirectories(SUMMARY_FILE.getParent());
+        objectMapper.writeValue(SUMMARY_FILE.toFile(), summary);
+        System.out.println(objectMapper.writeValueAsString(summary));
+
+        assertThat(endpoints).isNotEmpty();
+    }
+
+    // Carga de tasa fija (open loop): la latencia se mide desde el momento en que la request
+    // debía salir, así una cola del lado del servidor no se esconde bajando la tasa
+    private Map<String, LatencyRecorder> run(int seconds) throws Exception {
+        recorders = new ConcurrentHashMap<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+        long total = (long) RATE_PER_SECOND * seconds;
+        long start = System.nanoTime();
+
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(fire(intendedStart));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        return recorders;
+    }
+
+    private CompletableFuture<?> fire(long intendedStart) {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < LOGIN_WEIGHT) {
+            return send("login", loginRequest(randomOf(data.usernames())), intendedStart);
+        }
+        roll -= LOGIN_WEIGHT;
+        if (roll < FEED_WEIGHT) {
+            return send("feed", get("/api/posts/feed?size=20", randomOf(userTokens)), intendedStart);
+        }
+        roll -= FEED_WEIGHT;
+        if (roll < GET_WEIGHT) {
+            return send("getPostById", get("/api/posts/" + randomOf(data.postIds()), randomOf(userTokens)), intendedStart);
+        }
+        roll -= GET_WEIGHT;
+        int authorIndex = ThreadLocalRandom.current().nextInt(authorTokens.size());
+        if (roll < CREATE_WEIGHT) {
+            String body = "{\"title\":\"Nuevo post\",\"content\":\"Contenido\",\"author\":{\"id\":"
+                    + data.authorIds().get(authorIndex) + "}}";
+            return send("createPost", json("POST", "/api/posts", body, authorTokens.get(authorIndex)), intendedStart);
+        }
+        // Cada autor edita sus propios posts: el post i pertenece al autor i % AUTHORS
+        int postIndex = ThreadLocalRandom.current().nextInt(data.postIds().size() / AUTHORS) * AUTHORS + authorIndex;
+        String body = "{\"title\":\"Post editado\",\"content\":\"Contenido editado\"}";
+        return send("patchPost", json("PATCH", "/api/posts/" + data.postIds().get(postIndex), body,
+                authorTokens.get(authorIndex)), intendedStart);
+    }
+
+    private CompletableFuture<?> send(String endpoint, HttpRequest request, long intendedStart) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder());
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    boolean success = error == null && response.statusCode() < 400;
+                    recorder.record(System.nanoTime() - intendedStart, success);
+                    return null;
+                });
+    }
+
+    private List<String> login(List<String> usernames) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (String username : usernames) {
+            HttpResponse<String> response = httpClient.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            JsonNode body = objectMapper.readTree(response.body());
+            tokens.add(body.get("jwt").asText());
+        }
+        return tokens;
+    }
+
+    private HttpRequest loginRequest(String username) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+        return json("POST", "/auth/login", body, null);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String method, String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static <T> T randomOf(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
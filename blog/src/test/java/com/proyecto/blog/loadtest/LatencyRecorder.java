@@ -0,0 +1,52 @@
+package com.proyecto.blog.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Acumula las latencias de un endpoint y calcula percentiles al final de la corrida
+class LatencyRecorder {
+
+    private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        latenciesNanos.add(latencyNanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> summary(double durationSeconds) {
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        summary.put("errors", errors.sum());
+        summary.put("throughputPerSecond", round(sorted.length / durationSeconds));
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("p999Ms", percentileMillis(sorted, 0.999));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+        summary.put("meanMs", sorted.length == 0 ? 0.0 : toMillis((long) Arrays.stream(sorted).average().orElse(0)));
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,113 @@
+package com.proyecto.blog.loadtest;
+
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Permission;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.Role;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Carga usuarios, autores y posts en la base embebida antes de la corrida
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    record SeededData(List<String> usernames, List<String> authorUsernames, List<Long> authorIds, List<Long> postIds) {
+    }
+
+    private final IUserSecRepository userRepository;
+    private final IRoleRepository roleRepository;
+    private final IPermissionRepository permissionRepository;
+    private final IAuthorRepository authorRepository;
+    private final IPostRepository postRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    LoadTestSeeder(IUserSecRepository userRepository, IRoleRepository roleRepository,
+                   IPermissionRepository permissionRepository, IAuthorRepository authorRepository,
+                   IPostRepository postRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.authorRepository = authorRepository;
+        this.postRepository = postRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    // Debe llamarse dentro de una transacción (los roles cascadean sobre los permisos)
+    SeededData seed(int users, int authors, int posts, int contentLength) {
+        Permission read = permissionRepository.save(new Permission(null, "READ", false));
+        Permission create = permissionRepository.save(new Permission(null, "CREATE", false));
+        Role userRole = roleRepository.save(new Role(null, "USER", false, Set.of(read)));
+        Role authorRole = roleRepository.save(new Role(null, "AUTHOR", false, Set.of(read, create)));
+
+        // Un único hash para todos: BCrypt por usuario haría que sembrar tarde minutos
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+
+        List<String> usernames = new ArrayList<>();
+        List<UserSec> userEntities = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            UserSec user = newUser("loaduser" + i + "@blog.com", encodedPassword, userRole);
+            userEntities.add(user);
+            usernames.add(user.getUsername());
+        }
+        userRepository.saveAll(userEntities);
+
+        List<String> authorUsernames = new ArrayList<>();
+        List<Author> authorEntities = new ArrayList<>();
+        for (int i = 0; i < authors; i++) {
+            UserSec user = userRepository.save(newUser("loadauthor" + i + "@blog.com", encodedPassword, authorRole));
+            Author author = new Author();
+            author.setName("Load Author " + i);
+            author.setUser(user);
+            authorEntities.add(author);
+            authorUsernames.add(user.getUsername());
+        }
+        List<Long> authorIds = authorRepository.saveAll(authorEntities).stream().map(Author::getId).toList();
+
+        String content = content(contentLength);
+        List<Long> postIds = new ArrayList<>();
+        List<Post> batch = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            Post post = new Post();
+            post.setTitle("Load post " + i);
+            post.setContent(content);
+            post.setAuthor(authorEntities.get(i % authorEntities.size()));
+            batch.add(post);
+            if (batch.size() == 500 || i == posts - 1) {
+                postRepository.saveAll(batch).forEach(saved -> postIds.add(saved.getId()));
+                batch.clear();
+            }
+        }
+
+        return new SeededData(usernames, authorUsernames, authorIds, postIds);
+    }
+
+    private static UserSec newUser(String username, String encodedPassword, Role role) {
+        UserSec user = new UserSec();
+        user.setUsername(username);
+        user.setPassword(encodedPassword);
+        user.setEnabled(true);
+        user.setAccountNotExpired(true);
+        user.setAccountNotLocked(true);
+        user.setCredentialNotExpired(true);
+        user.setRolesList(Set.of(role));
+        return user;
+    }
+
+    private static String content(int length) {
+        StringBuilder content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append("Contenido de carga para medir serialización y red. ");
+        }
+        return content.substring(0, length);
+    }
+}
@@ -0,0 +1,168 @@
+package com.proyecto.blog.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ejecuta cada finder de los repositorios, captura el SQL que genera Hibernate y le pide el plan a H2
+// con EXPLAIN: si alguna tabla se recorre completa (tableScan) falta un índice en las migraciones.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.proyecto.blog.repository.FinderIndexUsageTests$CapturingInspector")
+@ActiveProfiles("test")
+class FinderIndexUsageTests {
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static final String SAMPLE_VALUE = "'1'";
+    // H2 no convierte '1' a fecha
+    private static final String SAMPLE_TIMESTAMP = "TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00+00'";
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* [\\w.]+\\.tableScan \\*/");
+
+    // Guarda el SQL de la última consulta ejecutada
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IPermissionRepository permissionRepository;
+
+    @Autowired
+    private IJwtSigningKeyRepository jwtSigningKeyRepository;
+
+    @Autowired
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private IRevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<String, String> finderSql = new LinkedHashMap<>();
+    private final Map<String, String> sampleValues = new LinkedHashMap<>();
+
+    @Test
+    void everyFinderUsesAnIndex() {
+        capture("IPostRepository.findByDeletedFalse", () -> postRepository.findByDeletedFalse());
+        capture("IPostRepository.findByIdAndDeletedFalse", () -> postRepository.findByIdAndDeletedFalse(1L));
+        capture("IPostRepository.findPostViews", () -> postRepository.findPostViews());
+        capture("IPostRepository.findPostViewById", () -> postRepository.findPostViewById(1L));
+        capture("IPostRepository.findPostViewFeed", () -> postRepository.findPostViewFeed(Limit.of(20)));
+        capture("IPostRepository.findPostViewFeedBefore", () -> postRepository.findPostViewFeedBefore(100L, Limit.of(20)));
+        capture("IPostRepository.findPostViewFeedByAuthor", () -> postRepository.findPostViewFeedByAuthor(1L, Limit.of(20)));
+        capture("IPostRepository.findPostViewFeedByAuthorBefore",
+                () -> postRepository.findPostViewFeedByAuthorBefore(1L, 100L, Limit.of(20)));
+        capture("IPostRepository.countByAuthorIdAndDeletedFalse", () -> postRepository.countByAuthorIdAndDeletedFalse(1L));
+        capture("IPostRepository.countPostsByAuthorIds", () -> postRepository.countPostsByAuthorIds(List.of(1L, 2L)));
+        capture("IPostRepository.findRecentPostsByAuthorIds", () -> postRepository.findRecentPostsByAuthorIds(List.of(1L, 2L), 5));
+        capture("IPostRepository.streamPostViewsAfter", () -> {
+            try (var posts = postRepository.streamPostViewsAfter(0L)) {
+                return posts.toList();
+            }
+        });
+        capture("IPostRepository.findVersionStampById", () -> postRepository.findVersionStampById(1L));
+        capture("IPostRepository.findVersionStampByAuthorId", () -> postRepository.findVersionStampByAuthorId(1L));
+        capture("IPostRepository.countByDeletedFalse", () -> postRepository.countByDeletedFalse());
+
+        capture("IAuthorRepository.findByDeletedFalse", () -> authorRepository.findByDeletedFalse());
+        capture("IAuthorRepository.findByIdAndDeletedFalse", () -> authorRepository.findByIdAndDeletedFalse(1L));
+        capture("IAuthorRepository.findVersionStampById", () -> authorRepository.findVersionStampById(1L));
+
+        capture("IUserSecRepository.findUserEntityByUsername", () -> userSecRepository.findUserEntityByUsername("a@blog.com"));
+        capture("IUserSecRepository.findByDeletedFalse", () -> userSecRepository.findByDeletedFalse());
+        capture("IUserSecRepository.findByIdAndDeletedFalse", () -> userSecRepository.findByIdAndDeletedFalse(1L));
+        capture("IUserSecRepository.findByUsername", () -> userSecRepository.findByUsername("a@blog.com"));
+        capture("IUserSecRepository.findCredentialsByUsername", () -> userSecRepository.findCredentialsByUsername("a@blog.com"));
+        capture("IUserSecRepository.findCredentialsById", () -> userSecRepository.findCredentialsById(1L));
+        capture("IUserSecRepository.findRoleIdsByUserId", () -> userSecRepository.findRoleIdsByUserId(1L));
+
+        capture("IRoleRepository.findByDeletedFalse", () -> roleRepository.findByDeletedFalse());
+        capture("IRoleRepository.findByIdAndDeletedFalse", () -> roleRepository.findByIdAndDeletedFalse(1L));
+        capture("IRoleRepository.findByRole", () -> roleRepository.findByRole("ADMIN"));
+        capture("IRoleRepository.findByRoleName", () -> roleRepository.findByRoleName("ADMIN"));
+
+        capture("IPermissionRepository.findByDeletedFalse", () -> permissionRepository.findByDeletedFalse());
+        capture("IPermissionRepository.findByIdAndDeletedFalse", () -> permissionRepository.findByIdAndDeletedFalse(1L));
+
+        capture("IJwtSigningKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc", SAMPLE_TIMESTAMP,
+                () -> jwtSigningKeyRepository.findByCreatedAtAfterOrderByCreatedAtDesc(Instant.EPOCH));
+        capture("IJwtSigningKeyRepository.deleteByCreatedAtBefore", SAMPLE_TIMESTAMP,
+                () -> jwtSigningKeyRepository.deleteByCreatedAtBefore(Instant.EPOCH));
+
+        capture("IRefreshTokenRepository.markUsed", () -> refreshTokenRepository.markUsed("hash"));
+        capture("IRefreshTokenRepository.deleteByUserId", () -> refreshTokenRepository.deleteByUserId(1L));
+        capture("IRefreshTokenRepository.deleteExpired", SAMPLE_TIMESTAMP,
+                () -> refreshTokenRepository.deleteExpired(Instant.EPOCH));
+
+        capture("IRevokedTokenRepository.findJtisExpiringAfter", SAMPLE_TIMESTAMP,
+                () -> revokedTokenRepository.findJtisExpiringAfter(Instant.EPOCH));
+        capture("IRevokedTokenRepository.deleteExpired", SAMPLE_TIMESTAMP,
+                () -> revokedTokenRepository.deleteExpired(Instant.EPOCH));
+
+        // findVersionStamp (posts y autores) agrega la tabla entera a propósito: no entra en la lista
+
+        finderSql.forEach((finder, sql) -> {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + bindSampleValues(sql, sampleValues.get(finder)), String.class);
+            assertThat(TABLE_SCAN.matcher(plan).find())
+                    .as("%s recorre una tabla completa:%n%s", finder, plan)
+                    .isFalse();
+        });
+    }
+
+    private void capture(String finder, Supplier<?> call) {
+        capture(finder, SAMPLE_VALUE, call);
+    }
+
+    private void capture(String finder, String sampleValue, Supplier<?> call) {
+        sampleValues.put(finder, sampleValue);
+        // Sin la cache de consultas, que respondería los finders cacheables sin ir a la base
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        CapturingInspector.statements.clear();
+        call.get();
+        assertThat(CapturingInspector.statements).as("%s no ejecutó SQL", finder).isNotEmpty();
+        finderSql.put(finder, CapturingInspector.statements.get(0));
+    }
+
+    // EXPLAIN no recibe parámetros: cada ? se reemplaza por un literal que H2 convierte al tipo de la columna
+    private static String bindSampleValues(String sql, String sampleValue) {
+        return PARAMETER.matcher(sql).replaceAll(Matcher.quoteReplacement(sampleValue));
+    }
+}
@@ -0,0 +1,67 @@
+package com.proyecto.blog.security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PublicPathRegistryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PublicPathRegistry publicPaths;
+
+    @Test
+    void matchesExactPathsAndSubtrees() {
+        PublicPathRegistry registry = PublicPathRegistry.of("/auth/login", "/swagger-ui/**", "/swagger-ui.html");
+
+        assertThat(registry.matches("/auth/login")).isTrue();
+        assertThat(registry.matches("/auth/login/")).isFalse();
+        assertThat(registry.matches("/auth/log")).isFalse();
+        assertThat(registry.matches("/auth/loginx")).isFalse();
+
+        assertThat(registry.matches("/swagger-ui")).isTrue();
+        assertThat(registry.matches("/swagger-ui/")).isTrue();
+        assertThat(registry.matches("/swagger-ui/index.html")).isTrue();
+        assertThat(registry.matches("/swagger-ui.html")).isTrue();
+        assertThat(registry.matches("/swagger-uix")).isFalse();
+        assertThat(registry.matches("/api/posts")).isFalse();
+        assertThat(registry.matches("")).isFalse();
+    }
+
+    @Test
+    void requestPathIsReadWithoutTheContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/blog/auth/login");
+        request.setContextPath("/blog");
+
+        assertThat(publicPaths.matches(request)).isTrue();
+        assertThat(publicPaths.matches(new MockHttpServletRequest("GET", "/blog/auth/login"))).isFalse();
+    }
+
+    @Test
+    void rejectsPatternsTheTrieCannotCompile() {
+        assertThatThrownBy(() -> PublicPathRegistry.of("/api/*/posts")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PublicPathRegistry.of("auth/login")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onlyRegisteredPathsSkipAuthentication() throws Exception {
+        assertThat(publicPaths.patterns()).doesNotContain("/api/users/1");
+
+        mockMvc.perform(get("/v3/api-docs")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/1")).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,135 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.AuthorDTO;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.dto.PostSummaryDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostService.class, AuthorService.class, PostSearchIndex.class, PostReadCache.class, VersionStampCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class AuthorSummaryTests {
+
+    private static final int POSTS_PER_AUTHOR = 30;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> deletedPostIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedAuthors() {
+        for (int i = 0; i < 3; i++) {
+            UserSec user = new UserSec();
+            user.setUsername("summary" + i + "-" + System.nanoTime() + "@blog.com");
+            user.setEnabled(true);
+            userSecRepository.save(user);
+
+            Author author = new Author();
+            author.setName("Summary " + i);
+            author.setUser(user);
+            authorIds.add(authorRepository.save(author).getId());
+
+            for (int j = 0; j < POSTS_PER_AUTHOR; j++) {
+                Post post = new Post();
+                post.setTitle("Post " + i + "-" + j);
+                post.setContent("Contenido largo " + j);
+                post.setAuthor(author);
+                // El último post de cada autor está borrado: no cuenta ni aparece entre los recientes
+                post.setDeleted(j == POSTS_PER_AUTHOR - 1);
+                Long id = postRepository.save(post).getId();
+                if (post.isDeleted()) {
+                    deletedPostIds.add(id);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void authorListUsesAggregatesInsteadOfLoadingPosts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<AuthorDTO> authors = authorService.getAllAuthors().stream()
+                .filter(author -> authorIds.contains(author.getId()))
+                .toList();
+
+        assertThat(authors).hasSize(3);
+        AuthorDTO first = authors.get(0);
+        assertThat(first.getPostCount()).isEqualTo(POSTS_PER_AUTHOR - 1);
+        assertThat(first.getRecentPosts()).hasSize(5);
+        assertThat(first.getRecentPosts()).extracting(PostSummaryDTO::getTitle)
+                .containsExactly("Post 0-28", "Post 0-27", "Post 0-26", "Post 0-25", "Post 0-24");
+        assertThat(first.getRecentPosts()).extracting(PostSummaryDTO::getId).doesNotContainAnyElementsOf(deletedPostIds);
+        assertThat(statistics.getCollectionStatistics("com.proyecto.blog.model.Author.posts").getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics("com.proyecto.blog.model.Post").getLoadCount()).isZero();
+    }
+
+    @Test
+    void authorPostsArePagedByCursor() {
+        Long authorId = authorIds.get(1);
+
+        PostFeedDTO first = postService.getAuthorPostFeed(authorId, null, 20);
+        PostFeedDTO second = postService.getAuthorPostFeed(authorId, first.getNextCursor(), 20);
+
+        assertThat(first.getPosts()).hasSize(20);
+        assertThat(first.getTotalHint()).isEqualTo(POSTS_PER_AUTHOR - 1);
+        assertThat(second.getPosts()).hasSize(POSTS_PER_AUTHOR - 1 - 20);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getPosts().get(0).getId()).isLessThan(first.getPosts().get(19).getId());
+        assertThat(first.getPosts().get(0).getTitle()).isEqualTo("Post 1-28");
+    }
+
+    @Test
+    void authorPostsOfUnknownAuthorIsNotFound() {
+        assertThatThrownBy(() -> postService.getAuthorPostFeed(-1L, null, 20))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Author not found");
+    }
+}
@@ -0,0 +1,205 @@
+package com.proyecto.blog.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.blog.model.JwtSigningKey;
+import com.proyecto.blog.repository.IJwtPrivateKeyRepository;
+import com.proyecto.blog.repository.IJwtSigningKeyRepository;
+import com.proyecto.blog.utils.JwtKeyRing;
+import com.proyecto.blog.utils.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin espera entre recargas por kid desconocido: varios tests las provocan seguidas
+@SpringBootTest(properties = "security.jwt.keys.unknown-kid-refresh-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtSigningKeyServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JwtSigningKeyService signingKeyService;
+
+    @Autowired
+    private IJwtSigningKeyRepository keyRepository;
+
+    @Autowired
+    private IJwtPrivateKeyRepository privateKeyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${security.jwt.user.generator}")
+    private String issuer;
+
+    @Test
+    void tokensVerifyWithThePublishedJwks() throws Exception {
+        DecodedJWT token = JWT.decode(userToken());
+        assertThat(token.getAlgorithm()).isEqualTo("RS256");
+
+        // Lo mismo que haría un nodo que solo verifica: arma la clave pública desde el JWK del kid
+        JsonNode jwk = jwk(token.getKeyId());
+        JWT.require(Algorithm.RSA256(rsaPublicKey(jwk), null)).withIssuer(issuer).build().verify(token.getToken());
+    }
+
+    @Test
+    void es256KeysArePublishedAsEcJwks() throws Exception {
+        JwtKeyRing ring = JwtKeyRing.of(JwtKeyRing.generate(JwtKeyRing.ES256, Instant.now()), issuer);
+        String token = JWT.create().withKeyId(ring.signingKid()).withIssuer(issuer).sign(ring.signingAlgorithm());
+
+        JsonNode jwk = objectMapper.valueToTree(ring.jwks().get(0));
+        assertThat(jwk.get("kty").asText()).isEqualTo("EC");
+        JWT.require(Algorithm.ECDSA256(ecPublicKey(jwk), null)).withIssuer(issuer).build().verify(token);
+        assertThat(ring.verifier(ring.signingKid()).verify(token).getAlgorithm()).isEqualTo("ES256");
+    }
+
+    @Test
+    void rotationKeepsEarlierTokensValidAndReusesVerifiers() throws Exception {
+        String before = userToken();
+        String oldKid = JWT.decode(before).getKeyId();
+        var oldVerifier = signingKeyService.current().verifier(oldKid);
+
+        signingKeyService.rotate();
+        String after = userToken();
+
+        assertThat(JWT.decode(after).getKeyId()).isNotEqualTo(oldKid);
+        assertThat(jwtUtils.validateToken(before).getSubject()).isEqualTo("keys@blog.com");
+        assertThat(jwtUtils.validateToken(after).getSubject()).isEqualTo("keys@blog.com");
+        assertThat(signingKeyService.current().verifier(oldKid)).isSameAs(oldVerifier);
+        assertThat(jwk(oldKid)).isNotNull();
+        assertThat(jwk(JWT.decode(after).getKeyId())).isNotNull();
+    }
+
+    @Test
+    void keyCreatedByAnotherInstanceIsPickedUpOnFirstUse() {
+        // Otra instancia rotó: la clave está en la base pero este nodo todavía no la cargó
+        JwtKeyRing.GeneratedKey generated = JwtKeyRing.generate(JwtKeyRing.RS256, Instant.now());
+        JwtSigningKey key = keyRepository.save(generated.key());
+        privateKeyRepository.save(generated.privateKey());
+        Algorithm otherInstance = JwtKeyRing.of(generated, issuer).signingAlgorithm();
+        String token = JWT.create().withKeyId(key.getKid()).withIssuer(issuer).withSubject("otra@blog.com").sign(otherInstance);
+
+        assertThat(jwtUtils.validateToken(token).getSubject()).isEqualTo("otra@blog.com");
+    }
+
+    @Test
+    void rejectsUnknownKidsAndHmacTokensWithKid() {
+        String unknown = JWT.create().withKeyId("no-existe").withIssuer(issuer).withSubject("x@blog.com")
+                .sign(JwtKeyRing.of(JwtKeyRing.generate(JwtKeyRing.RS256, Instant.now()), issuer).signingAlgorithm());
+        // Firmado con el secreto HMAC pero apuntando a una clave RS256: el algoritmo no coincide
+        String hmacWithKid = JWT.create().withKeyId(signingKeyService.current().signingKid()).withIssuer(issuer)
+                .withSubject("x@blog.com").sign(Algorithm.HMAC256("test-private-key"));
+
+        assertThatThrownBy(() -> jwtUtils.validateToken(unknown)).isInstanceOf(JWTVerificationException.class);
+        assertThatThrownBy(() -> jwtUtils.validateToken(hmacWithKid)).isInstanceOf(JWTVerificationException.class);
+    }
+
+    @Test
+    void retiredKeysAreNoLongerPublishedAndAreDeleted() throws Exception {
+        JwtKeyRing.GeneratedKey generated = JwtKeyRing.generate(JwtKeyRing.RS256, Instant.now().minus(Duration.ofDays(30)));
+        JwtSigningKey old = keyRepository.save(generated.key());
+        privateKeyRepository.save(generated.privateKey());
+
+        signingKeyService.rotate();
+
+        assertThat(jwk(old.getKid())).isNull();
+        assertThat(signingKeyService.current().verifier(old.getKid())).isNull();
+        assertThat(keyRepository.findById(old.getKid())).isEmpty();
+        assertThat(privateKeyRepository.findById(old.getKid())).isEmpty();
+    }
+
+    @Test
+    void verifierNodesNeverLoadPrivateKeys() {
+        List<String> publicColumns = jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_name = 'JWT_SIGNING_KEYS'", String.class);
+        assertThat(publicColumns).containsExactlyInAnyOrder("KID", "ALGORITHM", "PUBLIC_KEY", "CREATED_AT");
+
+        // Sin la privada, un anillo armado con las mismas claves verifica pero no firma
+        String token = userToken();
+        JwtKeyRing verifierRing = JwtKeyRing.build(keyRepository.findAll().stream()
+                        .sorted(Comparator.comparing(JwtSigningKey::getCreatedAt).reversed()).toList(),
+                issuer, null, JwtKeyRing.empty());
+        assertThat(verifierRing.canSign()).isFalse();
+        assertThat(verifierRing.verifier(JWT.decode(token).getKeyId()).verify(token).getSubject()).isEqualTo("keys@blog.com");
+
+        // El que firma tiene la privada de su clave en la otra tabla
+        assertThat(privateKeyRepository.findById(signingKeyService.current().signingKid())).isPresent();
+    }
+
+    private String userToken() {
+        return jwtUtils.createToken(new UsernamePasswordAuthenticationToken("keys@blog.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private JsonNode jwk(String kid) throws Exception {
+        String body = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=60, public"))
+                .andReturn().getResponse().getContentAsString();
+        for (JsonNode jwk : objectMapper.readTree(body).get("keys")) {
+            if (jwk.get("kid").asText().equals(kid)) {
+                return jwk;
+            }
+        }
+        return null;
+    }
+
+    private static RSAPublicKey rsaPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(jwk.get("n").asText())),
+                new BigInteger(1, decoder.decode(jwk.get("e").asText()))));
+    }
+
+    private static ECPublicKey ecPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(jwk.get("x").asText())),
+                new BigInteger(1, decoder.decode(jwk.get("y").asText())));
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec curve = parameters.getParameterSpec(ECParameterSpec.class);
+        return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, curve));
+    }
+}
@@ -0,0 +1,51 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.excepcion.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptThrottleTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final LoginAttemptThrottle throttle = new LoginAttemptThrottle(1024, 6, 10_000, 3, 5, clock::get);
+
+    @Test
+    void rejectsUsernameAfterLimitWithinWindow() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAttempt("Ana@Blog.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> throttle.checkAttempt("ana@blog.com", "10.0.0.9"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> throttle.checkAttempt("otro@blog.com", "10.0.0.9"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsIpAfterLimitAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAttempt("user" + i + "@blog.com", "192.168.1.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAttempt("nuevo@blog.com", "192.168.1.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void slidingWindowForgetsOldAttempts() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAttempt("ana@blog.com", null);
+        }
+        assertThatThrownBy(() -> throttle.checkAttempt("ana@blog.com", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        clock.addAndGet(60_000); // Pasa la ventana completa (6 buckets de 10s)
+
+        assertThatCode(() -> throttle.checkAttempt("ana@blog.com", null))
+                .doesNotThrowAnyException();
+    }
+}
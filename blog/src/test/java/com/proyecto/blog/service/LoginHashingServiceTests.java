@@ -0,0 +1,74 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.excepcion.LoginOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginHashingServiceTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    // Encoder que se bloquea hasta que el test lo libera, para llenar el pool a voluntad
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginHashingService hashingService =
+            new LoginHashingService(blockingEncoder, meterRegistry, 1, 1, 5000, 2);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        hashingService.shutdown();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hashingService.matches("a", "a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hashingService.matches("b", "c"));
+        waitUntilQueued();
+
+        assertThatThrownBy(() -> hashingService.matches("d", "d"))
+                .isInstanceOf(LoginOverloadedException.class)
+                .extracting(e -> ((LoginOverloadedException) e).getRetryAfterSeconds())
+                .isEqualTo(2L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(meterRegistry.get("blog.login.hash.time").timer().count()).isEqualTo(2);
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hashingService.getQueueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.PostImportResultDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Sin transacción de test: la importación abre una transacción por batch
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PostService.class, AuthorService.class, PostSearchIndex.class, PostReadCache.class, VersionStampCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostImportTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long authorId;
+
+    @BeforeEach
+    void seedAuthor() {
+        UserSec user = new UserSec();
+        user.setUsername("import" + System.nanoTime() + "@blog.com");
+        user.setEnabled(true);
+        user = userSecRepository.save(user);
+
+        Author author = new Author();
+        author.setName("Importador");
+        author.setUser(user);
+        authorId = authorRepository.save(author).getId();
+    }
+
+    @Test
+    void importsInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = postRepository.count();
+        statistics.clear();
+
+        PostImportResultDTO result = postService.importPosts(json(120, null));
+
+        assertThat(result.getImported()).isEqualTo(120);
+        assertThat(result.getBatches()).isEqualTo(3);
+        assertThat(postRepository.count()).isEqualTo(before + 120);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // Un INSERT preparado por batch más las lecturas de secuencia y del autor, no uno por fila
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(searchIndex.search("importado", 0, 10).getTotalHits()).isGreaterThanOrEqualTo(120);
+    }
+
+    @Test
+    void stopsAtInvalidElementKeepingPreviousBatches() {
+        long before = postRepository.count();
+
+        assertThatThrownBy(() -> postService.importPosts(json(60, 55)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("posición 55");
+
+        // El primer batch (50) quedó guardado, el segundo se revirtió entero
+        assertThat(postRepository.count()).isEqualTo(before + 50);
+    }
+
+    private InputStream json(int posts, Integer invalidIndex) {
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < posts; i++) {
+            String title = (invalidIndex != null && i == invalidIndex) ? "" : "Post importado " + i;
+            array.add("{\"title\":\"" + title + "\",\"content\":\"Contenido " + i + "\",\"authorId\":" + authorId + "}");
+        }
+        return new ByteArrayInputStream(array.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
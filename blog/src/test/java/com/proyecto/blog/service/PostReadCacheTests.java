@@ -0,0 +1,203 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"blog.posts.read-cache.ttl-ms=60000", "blog.version-stamps.ttl-ms=60000"})
+@ActiveProfiles("test")
+class PostReadCacheTests {
+
+    private static final int CALLERS = 50;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostReadCache postReadCache;
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void burstOfReadsForTheSamePostHitsTheDatabaseOnce() throws Exception {
+        Long id = createPost("burst", "Post viral");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Optional<PostDTOandNameAuthor>>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return postService.getPostById(id);
+                }));
+            }
+            start.countDown();
+
+            for (Future<Optional<PostDTOandNameAuthor>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).get()
+                        .extracting(PostDTOandNameAuthor::getTitle).isEqualTo("Post viral");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callersWaitForTheLoadInFlightInsteadOfLoadingAgain() throws Exception {
+        Long id = -1L; // Solo se usa como clave, el loader no va a la base
+        PostDTOandNameAuthor loaded = new PostDTOandNameAuthor(id, "En vuelo", "Contenido", "slow@blog.com");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        try {
+            Future<Optional<PostDTOandNameAuthor>> first = pool.submit(() -> postReadCache.getView(id, key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Optional.of(loaded);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long hitsBefore = postReadCache.viewStats().hitCount();
+            List<Future<Optional<PostDTOandNameAuthor>>> waiters = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                waiters.add(pool.submit(() -> postReadCache.getView(id, key -> {
+                    loads.incrementAndGet();
+                    return Optional.empty();
+                })));
+            }
+            // Los nueve encontraron el future en curso antes de que termine la carga
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (postReadCache.viewStats().hitCount() - hitsBefore < 9 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(postReadCache.viewStats().hitCount() - hitsBefore).isEqualTo(9);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).contains(loaded);
+            for (Future<Optional<PostDTOandNameAuthor>> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS)).contains(loaded);
+            }
+        } finally {
+            pool.shutdownNow();
+            postReadCache.invalidate(id);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void updateAndDeleteInvalidateTheCachedPost() {
+        Long id = createPost("editor", "Título original");
+        UsernamePasswordAuthenticationToken admin = new UsernamePasswordAuthenticationToken(
+                "admin@blog.com", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        assertThat(postService.getPostById(id)).get().extracting(PostDTOandNameAuthor::getTitle).isEqualTo("Título original");
+        String etag = postService.getPostVersion(id).toETag("post");
+
+        Post changes = new Post();
+        changes.setTitle("Título nuevo");
+        changes.setContent("Contenido nuevo");
+        postService.updatePost(id, changes, admin);
+
+        assertThat(postService.getPostById(id)).get().extracting(PostDTOandNameAuthor::getTitle).isEqualTo("Título nuevo");
+        assertThat(postService.getPostVersion(id).toETag("post")).isNotEqualTo(etag);
+
+        postService.deletePost(id);
+
+        assertThat(postService.getPostById(id)).isEmpty();
+        assertThat(postService.getPostVersion(id).isEmpty()).isTrue();
+    }
+
+    @Test
+    void movingAPostToAnotherAuthorUpdatesBothFeedTotals() {
+        Long movedId = createPost("origen", "Post que cambia de autor");
+        Long from = authorIdOf(movedId);
+        Long to = authorIdOf(createPost("destino", "Post del destino"));
+        // Los totales de los dos autores quedan en memoria
+        assertThat(postService.getAuthorPostFeed(from, null, 10).getTotalHint()).isEqualTo(1);
+        assertThat(postService.getAuthorPostFeed(to, null, 10).getTotalHint()).isEqualTo(1);
+
+        Post changes = new Post();
+        changes.setTitle("Post que cambia de autor");
+        changes.setContent("Ahora es del destino");
+        Author target = new Author();
+        target.setId(to);
+        changes.setAuthor(target);
+        postService.updatePost(movedId, changes, new UsernamePasswordAuthenticationToken(
+                "admin@blog.com", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        assertThat(postService.getAuthorPostFeed(from, null, 10).getTotalHint()).isZero();
+        assertThat(postService.getAuthorPostFeed(to, null, 10).getTotalHint()).isEqualTo(2);
+    }
+
+    private Long authorIdOf(Long postId) {
+        return postRepository.findById(postId).orElseThrow().getAuthor().getId();
+    }
+
+    private Long createPost(String username, String title) {
+        UserSec user = new UserSec();
+        user.setUsername(username + System.nanoTime() + "@blog.com");
+        user.setEnabled(true);
+        userSecRepository.save(user);
+
+        Author author = new Author();
+        author.setName(username);
+        author.setUser(user);
+        authorRepository.save(author);
+
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent("Contenido de " + title);
+        post.setAuthor(author);
+        return postRepository.save(post).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostSearchPageDTO;
+import com.proyecto.blog.dto.PostSearchResultDTO;
+import com.proyecto.blog.repository.IPostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTests {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex();
+        ReflectionTestUtils.setField(index, "maxPageSize", 100);
+
+        index.index(new PostDTOandNameAuthor(1L, "Introducción a Spring Security", "Filtros y autenticación con JWT", "ana"));
+        index.index(new PostDTOandNameAuthor(2L, "Recetas de cocina", "Cómo preparar una buena paella", "luis"));
+        index.index(new PostDTOandNameAuthor(3L, "Migrar a Spring Boot 3", "Notas sobre security y jakarta", "ana"));
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        PostSearchPageDTO page = index.search("security", 0, 10);
+
+        assertThat(page.getTotalHits()).isEqualTo(2);
+        assertThat(page.getResults()).extracting(PostSearchResultDTO::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void queryIgnoresAccentsAndCase() {
+        PostSearchPageDTO page = index.search("AUTENTICACION", 0, 10);
+
+        assertThat(page.getResults()).extracting(PostSearchResultDTO::getId).containsExactly(1L);
+        assertThat(page.getResults().get(0).getAuthorName()).isEqualTo("ana");
+    }
+
+    @Test
+    void updateReplacesPreviousTermsAndRemoveDropsPost() {
+        index.index(new PostDTOandNameAuthor(2L, "Recetas con Spring", "Nada de paella", "luis"));
+        assertThat(index.search("cocina", 0, 10).getTotalHits()).isZero();
+        assertThat(index.search("spring", 0, 10).getTotalHits()).isEqualTo(3);
+
+        index.remove(1L);
+        assertThat(index.search("spring", 0, 10).getResults())
+                .extracting(PostSearchResultDTO::getId).doesNotContain(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void paginatesRankedResults() {
+        PostSearchPageDTO first = index.search("spring", 0, 1);
+        PostSearchPageDTO second = index.search("spring", 1, 1);
+
+        assertThat(first.getResults()).hasSize(1);
+        assertThat(second.getResults()).hasSize(1);
+        assertThat(first.getResults().get(0).getScore()).isGreaterThanOrEqualTo(second.getResults().get(0).getScore());
+        assertThat(index.search("spring", 2, 1).getResults()).isEmpty();
+    }
+
+    @Test
+    void pagesPastTheEndAreEmptyEvenWhenOffsetOverflowsAnInt() {
+        PostSearchPageDTO page = index.search("spring", Integer.MAX_VALUE, 100);
+
+        assertThat(page.getResults()).isEmpty();
+        assertThat(page.getTotalHits()).isEqualTo(2);
+        assertThat(page.getPage()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void rebuildSwapsInTheNewIndexKeepingWritesMadeWhileItRan() {
+        // La "base" tiene los posts 2 y 4; mientras se lee, llega una edición del 4 y se borra el 2
+        IPostRepository repository = (IPostRepository) Proxy.newProxyInstance(IPostRepository.class.getClassLoader(),
+                new Class<?>[]{IPostRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findPostViewFeed")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    // Las búsquedas siguen viendo el índice anterior completo durante la reconstrucción
+                    assertThat(index.size()).isEqualTo(3);
+                    assertThat(index.search("security", 0, 10).getTotalHits()).isEqualTo(2);
+                    index.index(new PostDTOandNameAuthor(4L, "Caché con Caffeine", "Expiración por entrada", "ana"));
+                    index.remove(2L);
+                    return List.of(
+                            new PostDTOandNameAuthor(4L, "Borrador", "Sin terminar", "ana"),
+                            new PostDTOandNameAuthor(2L, "Recetas de cocina", "Cómo preparar una buena paella", "luis"));
+                });
+        ReflectionTestUtils.setField(index, "postRepository", repository);
+
+        index.rebuild();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("security", 0, 10).getTotalHits()).isZero();
+        assertThat(index.search("paella", 0, 10).getTotalHits()).isZero();
+        assertThat(index.search("borrador", 0, 10).getTotalHits()).isZero();
+        assertThat(index.search("caffeine", 0, 10).getResults()).extracting(PostSearchResultDTO::getId).containsExactly(4L);
+    }
+
+    @Test
+    void rebuildRequestedWhileAnotherRunsIsDoneRightAfterIt() {
+        // El primer recorrido de la tabla pide otro rebuild, como haría una importación que termina en el medio
+        AtomicInteger reads = new AtomicInteger();
+        IPostRepository repository = (IPostRepository) Proxy.newProxyInstance(IPostRepository.class.getClassLoader(),
+                new Class<?>[]{IPostRepository.class}, (proxy, method, args) -> {
+                    if (reads.incrementAndGet() == 1) {
+                        index.rebuild(); // No espera ni se bloquea: queda pedido
+                        return List.of(new PostDTOandNameAuthor(1L, "Introducción a Spring Security", "Filtros", "ana"));
+                    }
+                    return List.of(new PostDTOandNameAuthor(5L, "Importado", "Post que llegó con la importación", "luis"));
+                });
+        ReflectionTestUtils.setField(index, "postRepository", repository);
+
+        index.rebuild();
+
+        assertThat(reads.get()).isEqualTo(2);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("importacion", 0, 10).getResults()).extracting(PostSearchResultDTO::getId).containsExactly(5L);
+    }
+}
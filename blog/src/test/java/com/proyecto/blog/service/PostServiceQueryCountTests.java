@@ -0,0 +1,166 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.PostDTOandNameAuthor;
+import com.proyecto.blog.dto.PostFeedDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IPostRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({PostService.class, AuthorService.class, PostSearchIndex.class, PostReadCache.class, VersionStampCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PostServiceQueryCountTests {
+
+    private static final int AUTHORS = 100;
+    private static final int POSTS_PER_AUTHOR = 10;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private IPostRepository postRepository;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedPosts() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            UserSec user = new UserSec();
+            user.setUsername("author" + i + "@blog.com");
+            user.setEnabled(true);
+            userSecRepository.save(user);
+
+            Author author = new Author();
+            author.setName("Author " + i);
+            author.setUser(user);
+            authorRepository.save(author);
+
+            for (int j = 0; j < POSTS_PER_AUTHOR; j++) {
+                Post post = new Post();
+                post.setTitle("Post " + i + "-" + j);
+                post.setContent("Contenido del post " + i + "-" + j);
+                post.setAuthor(author);
+                posts.add(post);
+            }
+        }
+        postRepository.saveAll(posts);
+
+        // Vaciamos el contexto de persistencia para que las lecturas vayan a la base
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllPostsRunsSingleStatementFor1000Posts() {
+        List<PostDTOandNameAuthor> posts = postService.getAllPosts();
+
+        assertThat(posts).hasSize(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(posts.get(0).getAuthorName()).isEqualTo("author0@blog.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getPostByIdRunsSingleStatement() {
+        Long id = postRepository.findPostViews().get(0).getId();
+        statistics.clear();
+
+        Optional<PostDTOandNameAuthor> post = postService.getPostById(id);
+
+        assertThat(post).isPresent();
+        assertThat(post.get().getAuthorName()).isEqualTo("author0@blog.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void feedPageRunsSingleStatementOnceCountHintIsSeeded() {
+        PostFeedDTO first = postService.getPostFeed(null, 50);
+        statistics.clear();
+
+        PostFeedDTO second = postService.getPostFeed(first.getNextCursor(), 50);
+
+        assertThat(second.getPosts()).hasSize(50);
+        assertThat(second.getPosts().get(0).getId()).isLessThan(first.getPosts().get(49).getId());
+        assertThat(second.getTotalHint()).isEqualTo(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authorFeedCountsPostsOnlyForTheFirstPage() {
+        Long authorId = authorRepository.findAll().get(0).getId();
+        PostFeedDTO first = postService.getAuthorPostFeed(authorId, null, 4);
+        statistics.clear();
+
+        PostFeedDTO second = postService.getAuthorPostFeed(authorId, first.getNextCursor(), 4);
+
+        assertThat(second.getPosts()).hasSize(4);
+        assertThat(second.getTotalHint()).isEqualTo(POSTS_PER_AUTHOR);
+        // Autor + página; el total sale de memoria, sin volver a contar
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void exportStreamsProjectionWithoutLoadingEntities() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = postService.exportPosts(null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(lines).hasSize(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"authorName\":\"author0@blog.com\"");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void exportResumesAfterGivenId() {
+        List<PostDTOandNameAuthor> all = postRepository.findPostViews();
+        Long resumeAfter = all.get(all.size() - 11).getId();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = postService.exportPosts(resumeAfter, out);
+
+        assertThat(exported).isEqualTo(10);
+        assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("{\"id\":" + all.get(all.size() - 10).getId() + ",");
+    }
+}
@@ -0,0 +1,178 @@
+package com.proyecto.blog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.blog.model.RefreshToken;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IRefreshTokenRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.utils.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private IUserSecService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void refreshRotatesTheTokenWithoutHashingThePassword() throws Exception {
+        String username = newUser().getUsername();
+        JsonNode login = login(username);
+        double hashesBefore = hashCount();
+
+        JsonNode refreshed = refresh(login.get("refreshToken").asText(), status().isOk());
+
+        assertThat(hashCount()).isEqualTo(hashesBefore);
+        assertThat(refreshed.get("refreshToken").asText()).isNotEqualTo(login.get("refreshToken").asText());
+        assertThat(jwtUtils.validateToken(refreshed.get("jwt").asText()).getSubject()).isEqualTo(username);
+        assertThat(jwtUtils.extractAuthorities(jwtUtils.validateToken(refreshed.get("jwt").asText())))
+                .isEqualTo(jwtUtils.extractAuthorities(jwtUtils.validateToken(login.get("jwt").asText())));
+        // En la base no queda el token, solo su hash
+        assertThat(refreshTokenRepository.findById(login.get("refreshToken").asText())).isEmpty();
+        assertThat(refreshTokenRepository.findById(RefreshTokenService.hash(login.get("refreshToken").asText())))
+                .get().extracting(RefreshToken::isUsed).isEqualTo(true);
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesEverySessionOfTheUser() throws Exception {
+        String username = newUser().getUsername();
+        String first = login(username).get("refreshToken").asText();
+        String otherDevice = login(username).get("refreshToken").asText();
+        String second = refresh(first, status().isOk()).get("refreshToken").asText();
+
+        refresh(first, status().isUnauthorized());
+
+        refresh(second, status().isUnauthorized());
+        refresh(otherDevice, status().isUnauthorized());
+    }
+
+    @Test
+    void tokenRotatedByAnotherInstanceCountsAsReuse() throws Exception {
+        UserSec user = newUser();
+        String token = refreshTokenService.issue(user.getId());
+        // Otra instancia ya lo canjeó: el hot set de esta todavía lo tiene sin usar
+        refreshTokenRepository.markUsed(RefreshTokenService.hash(token));
+        String sibling = refreshTokenService.issue(user.getId());
+
+        refresh(token, status().isUnauthorized());
+
+        refresh(sibling, status().isUnauthorized());
+    }
+
+    @Test
+    void unknownAndExpiredTokensAreRejectedAndPruned() throws Exception {
+        UserSec user = newUser();
+        refreshTokenRepository.save(new RefreshToken(RefreshTokenService.hash("vencido"), user.getId(), Instant.now().minusSeconds(1)));
+
+        refresh("no-existe", status().isUnauthorized());
+        refresh("vencido", status().isUnauthorized());
+
+        assertThat(refreshTokenService.prune()).isGreaterThanOrEqualTo(1);
+        assertThat(refreshTokenRepository.findById(RefreshTokenService.hash("vencido"))).isEmpty();
+    }
+
+    @Test
+    void revokingOrDeletingTheUserEndsItsSessions() throws Exception {
+        UserSec revoked = newUser();
+        String revokedToken = login(revoked.getUsername()).get("refreshToken").asText();
+        UserSec deleted = newUser();
+        String deletedToken = login(deleted.getUsername()).get("refreshToken").asText();
+
+        assertThat(userService.revokeSessions(revoked.getId())).isEqualTo(1);
+        userService.deleteUserSec(deleted.getId());
+
+        refresh(revokedToken, status().isUnauthorized());
+        refresh(deletedToken, status().isUnauthorized());
+    }
+
+    @Test
+    void expiredCredentialsOrAccountsCannotRefresh() throws Exception {
+        UserSec expiredPassword = newUser();
+        String expiredPasswordToken = login(expiredPassword.getUsername()).get("refreshToken").asText();
+        expiredPassword.setCredentialNotExpired(false);
+        userSecRepository.save(expiredPassword);
+        UserSec expiredAccount = newUser();
+        String expiredAccountToken = login(expiredAccount.getUsername()).get("refreshToken").asText();
+        expiredAccount.setAccountNotExpired(false);
+        userSecRepository.save(expiredAccount);
+
+        refresh(expiredPasswordToken, status().isUnauthorized());
+        refresh(expiredAccountToken, status().isUnauthorized());
+    }
+
+    private UserSec newUser() {
+        UserSec user = new UserSec();
+        user.setUsername("refresh" + System.nanoTime() + "@blog.com");
+        user.setPassword(passwordEncoder.encode("secreto"));
+        user.setEnabled(true);
+        user.setAccountNotExpired(true);
+        user.setAccountNotLocked(true);
+        user.setCredentialNotExpired(true);
+        return userSecRepository.save(user);
+    }
+
+    private JsonNode login(String username) throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", "secreto"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode refresh(String refreshToken, ResultMatcher expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+
+    private double hashCount() {
+        return meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count();
+    }
+}
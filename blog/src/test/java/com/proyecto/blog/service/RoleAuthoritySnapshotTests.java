@@ -0,0 +1,149 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.model.AuthorityOrdinal;
+import com.proyecto.blog.model.Permission;
+import com.proyecto.blog.model.Role;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorityOrdinalRepository;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.utils.AuthorityCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sin transacción de test: la foto se carga en una transacción propia y solo ve lo confirmado.
+// Los permisos llevan un sufijo porque el nombre es único y los datos quedan entre tests
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RoleAuthoritySnapshot.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoleAuthoritySnapshotTests {
+
+    @Autowired
+    private RoleAuthoritySnapshot authoritySnapshot;
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IPermissionRepository permissionRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private IAuthorityOrdinalRepository authorityOrdinalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String suffix = "_" + System.nanoTime();
+
+    @Test
+    void expandsUserRolesFromSnapshot() {
+        // Roles, permisos y usuario cascadean entre sí: se guardan en la misma transacción
+        Long userId = transactionTemplate.execute(status -> {
+            Permission read = permissionRepository.save(new Permission(null, "READ" + suffix, false));
+            Permission write = permissionRepository.save(new Permission(null, "WRITE" + suffix, false));
+            Role admin = roleRepository.save(new Role(null, "ADMIN", false, Set.of(read, write)));
+            Role user = roleRepository.save(new Role(null, "USER", false, Set.of(read)));
+
+            UserSec userSec = new UserSec();
+            userSec.setUsername("ana" + suffix + "@blog.com");
+            userSec.setRolesList(Set.of(admin, user));
+            return userSecRepository.save(userSec).getId();
+        });
+        authoritySnapshot.rebuild(); // Lo mismo que hace RoleService al guardar roles
+
+        List<Long> roleIds = userSecRepository.findRoleIdsByUserId(userId);
+        List<String> authorities = authoritySnapshot.expand(roleIds).stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        assertThat(authorities).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER", "READ" + suffix, "WRITE" + suffix);
+        assertThat(authorities.subList(0, 2)).allMatch(authority -> authority.startsWith("ROLE_"));
+    }
+
+    @Test
+    void rebuildDropsDeletedRoles() {
+        Role editor = roleRepository.saveAndFlush(new Role(null, "EDITOR", false, Set.of()));
+        authoritySnapshot.rebuild();
+        assertThat(authoritySnapshot.expand(List.of(editor.getId()))).hasSize(1);
+
+        editor.setDeleted(true);
+        roleRepository.saveAndFlush(editor);
+        authoritySnapshot.rebuild();
+
+        assertThat(authoritySnapshot.expand(List.of(editor.getId()))).isEmpty();
+    }
+
+    @Test
+    void catalogSharesTheSnapshotAuthorities() {
+        Long readerId = transactionTemplate.execute(status -> {
+            Permission read = permissionRepository.save(new Permission(null, "READ" + suffix, false));
+            return roleRepository.save(new Role(null, "READER", false, Set.of(read))).getId();
+        });
+        authoritySnapshot.rebuild();
+
+        List<GrantedAuthority> expanded = authoritySnapshot.expand(List.of(readerId));
+        String claim = authoritySnapshot.catalog().encode(expanded).bits();
+        List<GrantedAuthority> decoded = authoritySnapshot.catalog().decode(claim);
+
+        assertThat(decoded).containsExactlyElementsOf(expanded);
+        assertThat(decoded.get(0)).isSameAs(expanded.get(0));
+        assertThat(decoded.get(1)).isSameAs(expanded.get(1));
+    }
+
+    @Test
+    void bitsAreDenseAndKeptAcrossRebuilds() {
+        transactionTemplate.executeWithoutResult(status ->
+                permissionRepository.save(new Permission(null, "KEEP" + suffix, false)));
+        authoritySnapshot.rebuild();
+        AuthorityCatalog before = authoritySnapshot.catalog();
+        String claim = before.encode(before.fromNames("KEEP" + suffix)).bits();
+        List<GrantedAuthority> decodedBefore = before.decode(claim);
+
+        transactionTemplate.executeWithoutResult(status ->
+                permissionRepository.save(new Permission(null, "AUDIT" + suffix, false)));
+        authoritySnapshot.rebuild();
+        AuthorityCatalog after = authoritySnapshot.catalog();
+
+        // Un bit más y ningún hueco, aunque los ids de la base vengan de a 50
+        assertThat(after.version()).isEqualTo(before.version() + 1);
+        assertThat(authorityOrdinalRepository.findAll()).extracting(AuthorityOrdinal::getBitIndex)
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, (int) after.version()).boxed().toList());
+        assertThat(decodedBefore).extracting(GrantedAuthority::getAuthority).containsExactly("KEEP" + suffix);
+        assertThat(after.decode(claim)).isEqualTo(decodedBefore);
+    }
+
+    @Test
+    void unknownCatalogVersionReloadsChangesFromOtherInstances() {
+        authoritySnapshot.rebuild();
+        long version = authoritySnapshot.catalog().version();
+
+        // Otra instancia crea un rol y le asigna el bit siguiente; esta no se entera por rebuildAfterCommit
+        transactionTemplate.executeWithoutResult(status -> {
+            roleRepository.save(new Role(null, "AUDITOR" + suffix, false, Set.of()));
+            authorityOrdinalRepository.insert("ROLE_AUDITOR" + suffix, (int) version);
+        });
+
+        AuthorityCatalog catalog = authoritySnapshot.catalog(version + 1);
+
+        assertThat(catalog.version()).isEqualTo(version + 1);
+        assertThat(catalog.authority("ROLE_AUDITOR" + suffix)).isNotNull();
+    }
+}
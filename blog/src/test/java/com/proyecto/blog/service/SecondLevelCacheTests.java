@@ -0,0 +1,87 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.model.Permission;
+import com.proyecto.blog.model.Role;
+import com.proyecto.blog.repository.IPermissionRepository;
+import com.proyecto.blog.repository.IRoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sin transacción de test: cada llamada al repositorio confirma, que es cuando se llena la cache
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({RoleService.class, RoleAuthoritySnapshot.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private IRoleRepository roleRepository;
+
+    @Autowired
+    private IPermissionRepository permissionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Long roleId;
+
+    @BeforeEach
+    void seedRole() {
+        // El rol cascadea a sus permisos, así que ambos se guardan en la misma transacción
+        roleId = transactionTemplate.execute(status -> {
+            Permission permission = permissionRepository.save(new Permission(null, "CACHE_" + System.nanoTime(), false));
+            return roleRepository.save(new Role(null, "CACHE_ROLE", false, new HashSet<>(Set.of(permission)))).getId();
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedRoleLookupIsServedFromCache() {
+        roleService.getRoleById(roleId);
+        statistics.clear();
+
+        Optional<Role> role = roleService.getRoleById(roleId);
+
+        assertThat(role).isPresent();
+        assertThat(role.get().getPermissionsList()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void softDeleteInvalidatesCachedLookups() {
+        assertThat(roleService.getRoleById(roleId)).isPresent();
+
+        roleService.deleteRole(roleId);
+
+        assertThat(roleService.getRoleById(roleId)).isEmpty();
+        assertThat(roleService.getAllRoles()).extracting(Role::getId).doesNotContain(roleId);
+    }
+}
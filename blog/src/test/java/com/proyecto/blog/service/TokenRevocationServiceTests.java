@@ -0,0 +1,160 @@
+package com.proyecto.blog.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.blog.model.RevokedToken;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IRevokedTokenRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import com.proyecto.blog.utils.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin recarga periódica: los tests llaman a refresh() cuando quieren ver la tabla
+@SpringBootTest(properties = "security.jwt.revocation.refresh-interval-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private IRevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void logoutRevokesTheCachedTokenAndItsRefreshToken() throws Exception {
+        JsonNode login = login(newUser());
+        String jwt = login.get("jwt").asText();
+        userInfo(jwt, status().isOk()); // Queda en la cache de tokens verificados
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", login.get("refreshToken").asText()))))
+                .andExpect(status().isNoContent());
+
+        userInfo(jwt, status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", login.get("refreshToken").asText()))))
+                .andExpect(status().isUnauthorized());
+        // Otro login del mismo usuario no se ve afectado
+        userInfo(login(login.get("username").asText()).get("jwt").asText(), status().isOk());
+    }
+
+    @Test
+    void revocationsFromAnotherInstanceArriveWithTheNextRefresh() throws Exception {
+        String jwt = token("otra-instancia@blog.com");
+        DecodedJWT decoded = JWT.decode(jwt);
+        userInfo(jwt, status().isOk());
+
+        // Otra instancia hizo logout: la fila está en la base pero el filtro de esta todavía no la tiene
+        revokedTokenRepository.save(new RevokedToken(decoded.getId(), decoded.getExpiresAtAsInstant()));
+        userInfo(jwt, status().isOk());
+
+        tokenRevocationService.refresh();
+        userInfo(jwt, status().isUnauthorized());
+    }
+
+    @Test
+    void tokensThatAreNotRevokedAreCheckedWithoutQueries() {
+        tokenRevocationService.revoke(UUID.randomUUID().toString(), Instant.now().plusSeconds(60));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 1_000; i++) {
+            tokenRevocationService.isRevoked(UUID.randomUUID().toString());
+        }
+
+        // Al 1 % de falsos positivos, mil jti darían unos 10 "puede estar" a lo sumo; con tan pocos revocados, ninguno
+        assertThat(statistics.getPrepareStatementCount() - statementsBefore).isLessThanOrEqualTo(5);
+        assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void expiredRevocationsArePrunedOnRefresh() {
+        String expired = UUID.randomUUID().toString();
+        revokedTokenRepository.save(new RevokedToken(expired, Instant.now().minusSeconds(1)));
+        String alreadyExpired = UUID.randomUUID().toString();
+        tokenRevocationService.revoke(alreadyExpired, Instant.now().minusSeconds(1));
+
+        tokenRevocationService.refresh();
+
+        assertThat(revokedTokenRepository.existsById(expired)).isFalse();
+        assertThat(revokedTokenRepository.existsById(alreadyExpired)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(expired)).isFalse();
+    }
+
+    private String newUser() {
+        UserSec user = new UserSec();
+        user.setUsername("logout" + System.nanoTime() + "@blog.com");
+        user.setPassword(passwordEncoder.encode("secreto"));
+        user.setEnabled(true);
+        user.setAccountNotExpired(true);
+        user.setAccountNotLocked(true);
+        user.setCredentialNotExpired(true);
+        return userSecRepository.save(user).getUsername();
+    }
+
+    private JsonNode login(String username) throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", "secreto"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private String token(String username) {
+        return jwtUtils.createToken(new UsernamePasswordAuthenticationToken(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private void userInfo(String jwt, ResultMatcher expectedStatus) throws Exception {
+        mockMvc.perform(get("/api/users/info").header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(expectedStatus);
+    }
+}
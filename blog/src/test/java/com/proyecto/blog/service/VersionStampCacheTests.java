@@ -0,0 +1,90 @@
+package com.proyecto.blog.service;
+
+import com.proyecto.blog.dto.UserDTO;
+import com.proyecto.blog.model.Author;
+import com.proyecto.blog.model.Post;
+import com.proyecto.blog.model.UserSec;
+import com.proyecto.blog.repository.IAuthorRepository;
+import com.proyecto.blog.repository.IUserSecRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"blog.posts.read-cache.ttl-ms=60000", "blog.version-stamps.ttl-ms=60000"})
+@ActiveProfiles("test")
+class VersionStampCacheTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private IAuthorRepository authorRepository;
+
+    @Autowired
+    private IUserSecRepository userSecRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void revalidationsDoNotScanTheTablesUntilAWriteCommits() {
+        Author author = createAuthor("stamp");
+        String posts = postService.getPostsVersion().toETag("posts");
+        String authors = authorService.getAuthorsVersion().toETag("authors");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(postService.getPostsVersion().toETag("posts")).isEqualTo(posts);
+            assertThat(authorService.getAuthorsVersion().toETag("authors")).isEqualTo(authors);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Post post = new Post();
+        post.setTitle("Post nuevo");
+        post.setContent("Cambia los validadores");
+        post.setAuthor(author);
+        postService.createPost(post);
+
+        assertThat(postService.getPostsVersion().toETag("posts")).isNotEqualTo(posts);
+        assertThat(authorService.getAuthorsVersion().toETag("authors")).isNotEqualTo(authors);
+    }
+
+    @Test
+    void renamingAnAuthorsUserChangesTheListValidators() {
+        Author author = createAuthor("rename");
+        String posts = postService.getPostsVersion().toETag("posts");
+        String authors = authorService.getAuthorsVersion().toETag("authors");
+
+        UserDTO changes = new UserDTO();
+        changes.setUsername("renamed" + System.nanoTime() + "@blog.com");
+        userService.updateUserSec(author.getUser().getId(), changes, true, null);
+
+        assertThat(postService.getPostsVersion().toETag("posts")).isNotEqualTo(posts);
+        assertThat(authorService.getAuthorsVersion().toETag("authors")).isNotEqualTo(authors);
+    }
+
+    private Author createAuthor(String username) {
+        UserSec user = new UserSec();
+        user.setUsername(username + System.nanoTime() + "@blog.com");
+        user.setEnabled(true);
+        userSecRepository.save(user);
+
+        Author author = new Author();
+        author.setName(username);
+        author.setUser(user);
+        return authorRepository.save(author);
+    }
+}
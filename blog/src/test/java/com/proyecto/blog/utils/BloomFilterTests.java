@@ -0,0 +1,43 @@
+package com.proyecto.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAnAddedValueAndKeepsFalsePositivesNearTheTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        String[] added = new String[10_000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = UUID.randomUUID().toString();
+            filter.add(added[i]);
+        }
+
+        for (String value : added) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+
+    @Test
+    void sizeIsAPowerOfTwoAtLeastTheOptimum() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+        // El óptimo para 10.000 elementos al 1 % son unos 95.851 bits
+        assertThat(filter.bitSize()).isEqualTo(131_072);
+        assertThat(filter.hashCount()).isBetween(7, 16);
+        assertThat(BloomFilter.create(0, 0.01).mightContain("x")).isFalse();
+        assertThatThrownBy(() -> BloomFilter.create(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
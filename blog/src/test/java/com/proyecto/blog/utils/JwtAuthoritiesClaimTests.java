@@ -0,0 +1,178 @@
+package com.proyecto.blog.utils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtAuthoritiesClaimTests {
+
+    private static final String KEY = "test-private-key";
+    private static final String ISSUER = "blog-test";
+    private static final int PERMISSIONS = 40;
+
+    private AuthorityCatalog catalog;
+    private JwtKeyRing keys;
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        catalog = catalog(PERMISSIONS);
+        keys = JwtKeyRing.of(JwtKeyRing.generate(JwtKeyRing.RS256, Instant.now()), ISSUER);
+        jwtUtils = jwtUtils(true);
+    }
+
+    @Test
+    void compactClaimRoundTripsAndIsMuchSmaller() {
+        List<GrantedAuthority> authorities = adminAuthorities(PERMISSIONS);
+
+        DecodedJWT compact = jwtUtils.validateToken(jwtUtils.createToken(admin(authorities)));
+        DecodedJWT legacy = jwtUtils.validateToken(jwtUtils(false).createToken(admin(authorities)));
+
+        assertThat(compact.getClaim(JwtUtils.AUTHORITIES_CLAIM).isMissing()).isTrue();
+        assertThat(jwtUtils.extractAuthorities(compact)).containsExactlyElementsOf(authorities);
+        assertThat(compact.getToken().length()).isLessThan(legacy.getToken().length() / 2);
+    }
+
+    @Test
+    void legacyTokensAreStillAccepted() {
+        String token = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("legacy@blog.com")
+                .withClaim(JwtUtils.AUTHORITIES_CLAIM, "ROLE_ADMIN,PERMISSION_3,OAUTH2_USER")
+                .sign(Algorithm.HMAC256(KEY));
+
+        List<GrantedAuthority> authorities = jwtUtils.extractAuthorities(jwtUtils.validateToken(token));
+
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "PERMISSION_3", "OAUTH2_USER");
+        assertThat(authorities.get(0)).isSameAs(catalog.authority("ROLE_ADMIN"));
+    }
+
+    @Test
+    void decodedAuthoritiesAreSharedAndImmutable() {
+        String claim = catalog.encode(adminAuthorities(5)).bits();
+
+        List<GrantedAuthority> first = catalog.decode(claim);
+        List<GrantedAuthority> second = catalog.decode(new String(claim));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.get(2)).isSameAs(catalog.authority("PERMISSION_0"));
+        assertThatThrownBy(() -> first.add(first.get(0))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void authoritiesOutsideTheCatalogTravelByName() {
+        List<GrantedAuthority> authorities = new ArrayList<>(AuthorityUtils.createAuthorityList("ROLE_AUTHOR", "OAUTH2_USER"));
+
+        DecodedJWT decoded = jwtUtils.validateToken(jwtUtils.createToken(admin(authorities)));
+
+        assertThat(decoded.getClaim(JwtUtils.AUTHORITIES_CLAIM).asString()).isEqualTo("OAUTH2_USER");
+        assertThat(jwtUtils.extractAuthorities(decoded)).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_AUTHOR", "OAUTH2_USER");
+    }
+
+    @Test
+    void bitsWithoutCatalogEntryGrantNothing() {
+        // Emitido por una instancia que ya conoce el permiso 40 (bit 42)
+        String claim = catalog(PERMISSIONS + 1).encode(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "PERMISSION_40")).bits();
+
+        assertThat(AuthorityCatalog.versionOf(claim)).isGreaterThan(catalog.version());
+        assertThat(catalog.decode(claim)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThatThrownBy(() -> catalog.decode("x" + claim)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> catalog.decode(claim + ".AA")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tokenFromANewerCatalogIsReadWithTheNewerCatalog() {
+        AuthorityCatalog newer = catalog(PERMISSIONS + 1);
+        List<Long> requested = new ArrayList<>();
+        ReflectionTestUtils.setField(jwtUtils, "authorityCatalog", (LongFunction<AuthorityCatalog>) version -> {
+            requested.add(version);
+            return version > catalog.version() ? newer : catalog;
+        });
+        // Emitido por una instancia que ya asignó el bit del permiso 40
+        JwtUtils issuer = jwtUtils(true);
+        ReflectionTestUtils.setField(issuer, "authorityCatalog", (LongFunction<AuthorityCatalog>) version -> newer);
+
+        String token = issuer.createToken(admin(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "PERMISSION_40")));
+
+        assertThat(jwtUtils.extractAuthorities(jwtUtils.validateToken(token))).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "PERMISSION_40");
+        assertThat(requested).containsExactly(newer.version());
+    }
+
+    @Test
+    void bitsKeepTheirNameAfterARename() {
+        // PERMISSION_3 se renombra a PERMISSION_X: recibe un bit nuevo y el suyo queda sin dueño
+        Map<String, Integer> bits = new HashMap<>(bits(PERMISSIONS));
+        bits.put("PERMISSION_X", bits.size());
+        List<String> permissions = new ArrayList<>(permissionNames(PERMISSIONS));
+        permissions.set(3, "PERMISSION_X");
+        AuthorityCatalog renamed = new AuthorityCatalog(bits.size(), bits, List.of("ROLE_ADMIN", "ROLE_AUTHOR"), permissions);
+
+        String claim = catalog.encode(AuthorityUtils.createAuthorityList("ROLE_AUTHOR", "PERMISSION_3")).bits();
+
+        assertThat(renamed.decode(claim)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_AUTHOR");
+    }
+
+    private JwtUtils jwtUtils(boolean compact) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "privateKey", KEY);
+        ReflectionTestUtils.setField(utils, "userGenerator", ISSUER);
+        ReflectionTestUtils.setField(utils, "compactAuthorities", compact);
+        ReflectionTestUtils.setField(utils, "authorityCatalog", (LongFunction<AuthorityCatalog>) version -> catalog);
+        utils.setKeySource(() -> keys);
+        utils.init();
+        return utils;
+    }
+
+    // Roles en los bits 0 y 1; el permiso i en el bit i + 2
+    private static AuthorityCatalog catalog(int permissions) {
+        Map<String, Integer> bits = bits(permissions);
+        return new AuthorityCatalog(bits.size(), bits, List.of("ROLE_ADMIN", "ROLE_AUTHOR"), permissionNames(permissions));
+    }
+
+    private static Map<String, Integer> bits(int permissions) {
+        Map<String, Integer> bits = new HashMap<>(Map.of("ROLE_ADMIN", 0, "ROLE_AUTHOR", 1));
+        for (int i = 0; i < permissions; i++) {
+            bits.put("PERMISSION_" + i, i + 2);
+        }
+        return bits;
+    }
+
+    private static List<String> permissionNames(int permissions) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < permissions; i++) {
+            names.add("PERMISSION_" + i);
+        }
+        return names;
+    }
+
+    private static List<GrantedAuthority> adminAuthorities(int permissions) {
+        List<GrantedAuthority> authorities = new ArrayList<>(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_AUTHOR"));
+        for (int i = 0; i < permissions; i++) {
+            authorities.addAll(AuthorityUtils.createAuthorityList("PERMISSION_" + i));
+        }
+        return authorities;
+    }
+
+    private static UsernamePasswordAuthenticationToken admin(List<GrantedAuthority> authorities) {
+        return new UsernamePasswordAuthenticationToken("admin@blog.com", null, authorities);
+    }
+}
@@ -0,0 +1,42 @@
+package com.proyecto.blog.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+    private static final Date IN_AN_HOUR = new Date(System.currentTimeMillis() + 3_600_000);
+
+    @Test
+    void hitReturnsTheEntryUntilTheTokenExpires() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, new SimpleMeterRegistry());
+        String valid = VerifiedTokenCache.key("token-valido");
+        String expired = VerifiedTokenCache.key("token-vencido");
+
+        cache.put(valid, "ana@blog.com", AuthorityUtils.createAuthorityList("ROLE_USER"), "jti-1", IN_AN_HOUR);
+        cache.put(expired, "ana@blog.com", AuthorityUtils.createAuthorityList("ROLE_USER"), "jti-2",
+                new Date(System.currentTimeMillis() - 1));
+
+        assertThat(cache.get(valid)).extracting(VerifiedTokenCache.CachedToken::jti).isEqualTo("jti-1");
+        assertThat(cache.get(expired)).isNull();
+        assertThat(cache.get(VerifiedTokenCache.key("otro"))).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void fullCacheEvictsInsteadOfRefusingNewTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, new SimpleMeterRegistry());
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(VerifiedTokenCache.key("token-" + i), "user" + i, AuthorityUtils.NO_AUTHORITIES, "jti-" + i, IN_AN_HOUR);
+        }
+        cache.purgeExpired();
+
+        assertThat(cache.size()).isEqualTo(10);
+    }
+}